@@ -0,0 +1,104 @@
+package com.boot3.myrestapi.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/*
+    크기가 제한된 LRU 캐시를 key 의 hash 로 여러 segment 로 나누어 segment 마다 lock 을 잡는다.
+    segment 는 access-order LinkedHashMap 이므로 가득 차면 그 segment 에서 가장 오래 사용하지 않은 항목 하나를 제거 (O(1))
+    조회/저장이 서로 다른 segment 에 있으면 lock 을 다투지 않는다.
+    evictionListener 는 maxSize 를 넘어 제거된 항목마다 segment lock 안에서 호출된다.
+ */
+public class StripedLruCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+
+    public StripedLruCache(int maxSize, BiConsumer<K, V> evictionListener) {
+        //segment 수는 2의 거듭제곱, 작은 캐시는 segment 하나 (정확한 LRU)
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE)));
+        int segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] created = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            created[i] = new Segment<>(segmentSize, evictionListener);
+        }
+        this.segments = created;
+        this.mask = segmentCount - 1;
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    //이미 있으면 기존 값을 반환하고 저장하지 않음
+    public V putIfAbsent(K key, V value) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.putIfAbsent(key, value);
+        }
+    }
+
+    public V put(K key, V value) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    public V remove(K key) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    public boolean remove(K key, V value) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.remove(key, value);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentOf(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static class Segment<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+        private final BiConsumer<K, V> evictionListener;
+
+        private Segment(int maxSize, BiConsumer<K, V> evictionListener) {
+            //access-order : get 할 때마다 맨 뒤로 이동
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.evictionListener = evictionListener;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() <= maxSize) {
+                return false;
+            }
+            evictionListener.accept(eldest.getKey(), eldest.getValue());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.boot3.myrestapi.common.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalConfiguration;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.LinkRelationProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/*
+    서비스간 호출용 binary JSON (Smile, CBOR) HttpMessageConverter
+    - Boot 가 설정한 Jackson2ObjectMapperBuilder(ErrorsSerializer, ProblemDetail mixin 포함)로 만들고 HAL module 을 추가해서
+      _links, _embedded 는 application/hal+json 과 같은 구조로 응답
+    - 날짜는 문자열 대신 숫자 : LocalDateTime 은 UTC 기준 epoch seconds, Instant 는 timestamp
+      (@JsonFormat(pattern) 이 붙은 property 도 숫자로 씀, 요청 body 는 숫자와 "yyyy-MM-dd HH:mm" 문자열 모두 허용)
+ */
+@Configuration
+public class BinaryJsonConfig {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf(APPLICATION_CBOR_VALUE);
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, Jackson2HalModule.HalHandlerInstantiator binaryHalHandlerInstantiator) {
+        ObjectMapper objectMapper = builder.factory(new SmileFactory()).build();
+        return new MappingJackson2SmileHttpMessageConverter(configure(objectMapper, binaryHalHandlerInstantiator));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, Jackson2HalModule.HalHandlerInstantiator binaryHalHandlerInstantiator) {
+        ObjectMapper objectMapper = builder.factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(configure(objectMapper, binaryHalHandlerInstantiator));
+    }
+
+    //HAL module 의 serializer 가 사용하는 rel 이름, curie, message 설정 (application/hal+json 과 같은 설정)
+    @Bean
+    public Jackson2HalModule.HalHandlerInstantiator binaryHalHandlerInstantiator(
+            LinkRelationProvider linkRelationProvider,
+            ObjectProvider<CurieProvider> curieProvider,
+            MessageResolver messageResolver,
+            ObjectProvider<HalConfiguration> halConfiguration,
+            AutowireCapableBeanFactory beanFactory) {
+        return new Jackson2HalModule.HalHandlerInstantiator(linkRelationProvider,
+                curieProvider.getIfAvailable(() -> CurieProvider.NONE), messageResolver,
+                halConfiguration.getIfAvailable(HalConfiguration::new), beanFactory);
+    }
+
+    private static ObjectMapper configure(ObjectMapper objectMapper, HandlerInstantiator handlerInstantiator) {
+        SimpleModule epochSeconds = new SimpleModule("EpochSecondsLocalDateTime");
+        epochSeconds.addSerializer(LocalDateTime.class, new EpochSecondsSerializer());
+        epochSeconds.addDeserializer(LocalDateTime.class, new EpochSecondsDeserializer());
+        //나중에 등록한 module 의 (de)serializer 가 JavaTimeModule 보다 먼저 선택됨
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.registerModule(epochSeconds);
+        objectMapper.setHandlerInstantiator(handlerInstantiator);
+        objectMapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return objectMapper;
+    }
+
+    static class EpochSecondsSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+
+    static class EpochSecondsDeserializer extends JsonDeserializer<LocalDateTime> {
+        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+        @Override
+        public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofEpochSecond(p.getLongValue(), 0, ZoneOffset.UTC);
+            }
+            String text = p.getValueAsString();
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(text.trim(), FORMATTER);
+            } catch (RuntimeException e) {
+                return (LocalDateTime) ctxt.handleWeirdStringValue(LocalDateTime.class, text,
+                        "expected epoch seconds or yyyy-MM-dd HH:mm");
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.boot3.myrestapi.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+    JPA 용 JDBC DataSource (Hikari)
+    R2DBC ConnectionFactory(/rx/api/lectures)가 있으면 Boot 의 DataSourceAutoConfiguration 이 동작하지 않으므로
+    spring.datasource.*, spring.datasource.hikari.* 설정으로 직접 만든다.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+}
@@ -7,14 +7,33 @@ import java.util.Locale;
 
 @Data
 public class ErrorObject {
+    //DateTimeFormatter 는 thread-safe 하므로 한번만 생성
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss E a", Locale.KOREA);
+    //초 단위로 포맷된 문자열을 재사용
+    private static volatile FormattedTimestamp lastTimestamp = new FormattedTimestamp(Long.MIN_VALUE, null);
+
     private Integer statusCode;
     private String message;
     private String timestamp;
 
+    public static ErrorObject of(int statusCode, String message) {
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(statusCode);
+        errorObject.setMessage(message);
+        return errorObject;
+    }
+
     public String getTimestamp() {
-        LocalDateTime ldt = LocalDateTime.now();
-        return DateTimeFormatter.ofPattern(
-                "yyyy-MM-dd HH:mm:ss E a", 
-                Locale.KOREA).format(ldt);
+        long epochSecond = System.currentTimeMillis() / 1000;
+        FormattedTimestamp cached = lastTimestamp;
+        if (cached.epochSecond() != epochSecond) {
+            cached = new FormattedTimestamp(epochSecond, TIMESTAMP_FORMATTER.format(LocalDateTime.now()));
+            lastTimestamp = cached;
+        }
+        return cached.text();
+    }
+
+    private record FormattedTimestamp(long epochSecond, String text) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.boot3.myrestapi.common.exception;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/*
+    401/403 등 Filter 단계의 에러 응답을 ErrorObject JSON 으로 작성
+    요청마다 ObjectMapper 를 생성하지 않고 공유 ObjectWriter 로 response stream 에 바로 쓴다.
+ */
+@Component
+public class ErrorResponseWriter {
+    private final ObjectWriter writer;
+
+    public ErrorResponseWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(ErrorObject.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public void write(HttpServletResponse response, int statusCode, String message) throws IOException {
+        response.setStatus(statusCode);
+        response.setContentType("application/json;charset=UTF-8");
+        writer.writeValue(response.getOutputStream(), ErrorObject.of(statusCode, message));
+    }
+}
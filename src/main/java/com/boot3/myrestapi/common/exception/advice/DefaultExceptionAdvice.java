@@ -2,7 +2,11 @@ package com.boot3.myrestapi.common.exception.advice;
 
 import com.boot3.myrestapi.common.exception.BusinessException;
 import com.boot3.myrestapi.common.exception.ErrorObject;
+import com.boot3.myrestapi.security.exception.InvalidJwtException;
+import com.boot3.myrestapi.security.exception.PasswordHashingRejectedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
@@ -67,11 +71,33 @@ public class DefaultExceptionAdvice {
         throw new BadCredentialsException(e.getMessage());
     }
 
+    //잘못된/만료된 JWT 토큰 (logout 등 Controller 에서 토큰을 검증하는 경우) 401
+    @ExceptionHandler(InvalidJwtException.class)
+    protected ResponseEntity<ErrorObject> handleException(InvalidJwtException e) {
+        ErrorObject errorObject = ErrorObject.of(HttpStatus.UNAUTHORIZED.value(), e.getMessage());
+        return new ResponseEntity<>(errorObject, HttpStatus.UNAUTHORIZED);
+    }
+
+    //BCrypt 처리 pool 이 가득 찬 경우 503 예외 발생
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    protected ResponseEntity<ErrorObject> handleException(PasswordHashingRejectedException e) {
+        ErrorObject errorObject = ErrorObject.of(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorObject);
+    }
+
+    //If-Match 불일치 또는 @Version 충돌 (다른 요청이 먼저 수정함) 412 예외 발생
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    protected ResponseEntity<ErrorObject> handleException(OptimisticLockingFailureException e) {
+        ErrorObject errorObject = ErrorObject.of(HttpStatus.PRECONDITION_FAILED.value(), e.getMessage());
+        return new ResponseEntity<>(errorObject, HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<ErrorObject> handleException(Exception e) {
-        ErrorObject errorObject = new ErrorObject();
-        errorObject.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorObject.setMessage(e.getMessage());
+        ErrorObject errorObject = ErrorObject.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
 
         log.error(e.getMessage(), e);
 
@@ -0,0 +1,27 @@
+package com.boot3.myrestapi.common.runner;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    DataGeneratorRunner 설정 (datagen.*)
+    같은 seed 와 건수로 실행하면 항상 같은 데이터가 만들어짐
+ */
+@Component
+@ConfigurationProperties(prefix = "datagen")
+@Getter
+@Setter
+public class DataGeneratorProperties {
+    private boolean enabled = false;
+    //UserInfoInsertRunner 의 2명 외에 추가로 만들 User 수
+    private int users = 0;
+    private int lectures = 15;
+    private long seed = 42;
+    //owner(UserInfo)가 있는 Lecture 의 비율(%)
+    private int ownedPercent = 80;
+    //한번의 batch insert 건수 (병렬 처리 단위)
+    private int batchSize = 5000;
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+}
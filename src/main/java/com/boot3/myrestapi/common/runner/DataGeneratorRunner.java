@@ -0,0 +1,168 @@
+package com.boot3.myrestapi.common.runner;
+
+import com.boot3.myrestapi.lectures.models.LectureStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+    테스트/개발용 User, Lecture 데이터 생성 (LectureInsertRunner 대체)
+    - datagen.enabled=true 일 때만 실행 (prod profile 에서는 false)
+    - Lecture 는 batchSize 건씩 나누어 여러 thread 에서 JDBC batch insert
+    - 각 batch 는 (seed, batch 번호) 로 만든 Random 을 사용하므로 thread 수와 관계없이 같은 데이터가 만들어짐
+      (수정시각 modified_at 도 실행 시각이 아닌 Random 으로 정함)
+ */
+@Component
+@Order(3)
+@ConditionalOnProperty(name = "datagen.enabled", havingValue = "true")
+@Slf4j
+public class DataGeneratorRunner implements ApplicationRunner {
+    private static final String INSERT_USER = "insert into user_info (name, email, password, roles, user_id)"
+            + " values (?, ?, ?, ?, ?)";
+    private static final String INSERT_LECTURE = "insert into lectures (id, name, description,"
+            + " begin_enrollment_date_time, close_enrollment_date_time, begin_lecture_date_time, end_lecture_date_time,"
+            + " location, base_price, max_price, limit_of_enrollment, offline, free, lecture_status, user_info_id,"
+            + " version, modified_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+    private static final LocalDateTime BASE_DATE_TIME = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] SUBJECTS = {"Spring Boot", "REST API", "JPA", "Spring Security", "JWT", "Kotlin",
+            "Java", "React", "Docker", "Kubernetes", "Redis", "Kafka", "MSA", "테스트 자동화", "데이터 분석"};
+    private static final String[] LEVELS = {"입문", "기초", "실전", "심화", "마스터"};
+    private static final int ROOMS = 50;
+    //Hibernate pooled sequence 의 allocationSize (Lecture 의 @SequenceGenerator 와 같은 값)
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    @Autowired
+    DataGeneratorProperties properties;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.currentTimeMillis();
+        insertUsers();
+        List<Integer> ownerIds = jdbcTemplate.queryForList("select id from user_info order by id", Integer.class);
+        int firstId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 1 from lectures", Integer.class);
+        insertLectures(firstId, ownerIds);
+        //직접 지정한 id 다음부터 Hibernate 가 id 를 할당하도록 sequence 재설정
+        jdbcTemplate.execute("alter sequence lectures_seq restart with "
+                + (firstId + properties.getLectures() + SEQUENCE_ALLOCATION_SIZE));
+        log.info("DataGenerator : {} users, {} lectures in {} ms (seed = {})", properties.getUsers(),
+                properties.getLectures(), System.currentTimeMillis() - start, properties.getSeed());
+    }
+
+    private void insertUsers() {
+        if (properties.getUsers() <= 0) {
+            return;
+        }
+        //BCrypt 는 느리므로 모든 User 가 같은 비밀번호 hash 를 사용
+        String password = passwordEncoder.encode("pwd");
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 1; i <= properties.getUsers(); i++) {
+            String email = String.format("user%06d@gen.com", i);
+            String roles = random.nextInt(100) < 5 ? "ROLE_ADMIN,ROLE_USER" : "ROLE_USER";
+            batch.add(new Object[]{"genuser" + i, email, password, roles,
+                    new UUID(random.nextLong(), random.nextLong()).toString()});
+            if (batch.size() == properties.getBatchSize()) {
+                jdbcTemplate.batchUpdate(INSERT_USER, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER, batch);
+        }
+    }
+
+    private void insertLectures(int firstId, List<Integer> ownerIds) throws Exception {
+        int total = properties.getLectures();
+        int batchSize = properties.getBatchSize();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < total; from += batchSize) {
+                int batchFrom = from;
+                int batchTo = Math.min(from + batchSize, total);
+                futures.add(executor.submit(() ->
+                        jdbcTemplate.batchUpdate(INSERT_LECTURE, generateLectures(firstId, batchFrom, batchTo, ownerIds))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    List<Object[]> generateLectures(int firstId, int from, int to, List<Integer> ownerIds) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() * 31 + from / properties.getBatchSize());
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            //신청 시작일 : 2024-01-01 부터 2년 사이, 이후 신청마감/강의시작/강의종료 순서
+            LocalDateTime beginEnrollment = BASE_DATE_TIME.plusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            LocalDateTime closeEnrollment = beginEnrollment.plusDays(random.nextInt(1, 15));
+            LocalDateTime beginLecture = closeEnrollment.plusDays(random.nextInt(1, 8));
+            LocalDateTime endLecture = beginLecture.plusDays(random.nextInt(1, 31));
+
+            //무료 30%, 유료는 1만원 ~ 50만원
+            int basePrice = 0;
+            int maxPrice = 0;
+            if (random.nextInt(100) >= 30) {
+                basePrice = random.nextInt(1, 51) * 10_000;
+                maxPrice = random.nextInt(4) == 0 ? 0 : basePrice + random.nextInt(0, 21) * 10_000;
+            }
+            //5건 중 1건은 온라인(장소 없음)
+            String location = index % 5 == 4 ? null : ((index % ROOMS) + 1) + " 강의장";
+            Integer ownerId = !ownerIds.isEmpty() && random.nextInt(100) < properties.getOwnedPercent()
+                    ? ownerIds.get(random.nextInt(ownerIds.size())) : null;
+            LectureStatus status = status(random);
+            //수정시각 : 신청 시작 30일 전 ~ 신청 시작 사이
+            LocalDateTime modifiedAt = beginEnrollment.minusMinutes(random.nextInt(1, 30 * 24 * 60));
+
+            rows.add(new Object[]{
+                    firstId + index,
+                    SUBJECTS[random.nextInt(SUBJECTS.length)] + " " + LEVELS[random.nextInt(LEVELS.length)] + " " + (index + 1),
+                    "Generated Lecture " + (index + 1),
+                    Timestamp.valueOf(beginEnrollment),
+                    Timestamp.valueOf(closeEnrollment),
+                    Timestamp.valueOf(beginLecture),
+                    Timestamp.valueOf(endLecture),
+                    location,
+                    basePrice,
+                    maxPrice,
+                    random.nextInt(1, 21) * 10,
+                    location != null,
+                    basePrice == 0 && maxPrice == 0,
+                    status.name(),
+                    ownerId,
+                    Timestamp.valueOf(modifiedAt)});
+        }
+        return rows;
+    }
+
+    //DRAFT 30%, PUBLISHED 50%, BEGAN_ENROLLMENT 20%
+    private static LectureStatus status(SplittableRandom random) {
+        int value = random.nextInt(100);
+        if (value < 30) {
+            return LectureStatus.DRAFT;
+        }
+        return value < 80 ? LectureStatus.PUBLISHED : LectureStatus.BEGAN_ENROLLMENT;
+    }
+}
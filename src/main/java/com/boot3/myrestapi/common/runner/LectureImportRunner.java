@@ -0,0 +1,62 @@
+package com.boot3.myrestapi.common.runner;
+
+import com.boot3.myrestapi.lectures.service.LectureExportFormat;
+import com.boot3.myrestapi.lectures.service.LectureImportResult;
+import com.boot3.myrestapi.lectures.service.LectureImportService;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+    명령행에서 Lecture 파일 가져오기
+    java -jar app.jar --import-lectures=/data/lectures.csv [--import-owner=admin@aa.com] [--spring.main.web-application-type=none]
+    형식은 확장자(.csv / .ndjson)로 결정하고, importId 는 파일명이므로 중단 후 같은 명령으로 다시 실행하면 이어서 처리함
+ */
+@Component
+@Order(4)
+@Slf4j
+public class LectureImportRunner implements ApplicationRunner {
+    @Autowired
+    LectureImportService lectureImportService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    @Value("${lectures.import.work-dir:${java.io.tmpdir}/lecture-import}")
+    String importWorkDir;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("import-lectures")) {
+            return;
+        }
+        Path file = Path.of(args.getOptionValues("import-lectures").get(0));
+        String fileName = file.getFileName().toString();
+        LectureExportFormat format = LectureExportFormat.of(fileName.substring(fileName.lastIndexOf('.') + 1));
+        UserInfo owner = null;
+        if (args.containsOption("import-owner")) {
+            String email = args.getOptionValues("import-owner").get(0);
+            owner = userInfoRepository.findByEmail(email)
+                    .orElseThrow(() -> new IllegalArgumentException("import-owner not found : " + email));
+        }
+        String importId = fileName.replaceAll("[^A-Za-z0-9_-]", "_");
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            LectureImportResult result = lectureImportService.importLectures(
+                    reader, format, owner, Path.of(importWorkDir), importId);
+            log.info("Lecture import from {} : {} saved, {} rejected (reject file : {})",
+                    file, result.saved(), result.rejected(),
+                    lectureImportService.rejectFile(Path.of(importWorkDir), importId));
+        }
+    }
+}
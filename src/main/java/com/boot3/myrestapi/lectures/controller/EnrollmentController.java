@@ -0,0 +1,69 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.config.BinaryJsonConfig;
+import com.boot3.myrestapi.lectures.dto.EnrollmentResDto;
+import com.boot3.myrestapi.lectures.dto.hateoas.LectureLinks;
+import com.boot3.myrestapi.lectures.service.EnrollmentService;
+import com.boot3.myrestapi.security.annot.CurrentUser;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+//수강 신청 (좌석이 없으면 대기자로 등록), 내 신청 조회/취소, Lecture 의 신청 목록
+@RestController
+@RequestMapping(value = "/api/lectures/{lectureId}/enrollments",
+        produces = {MediaTypes.HAL_JSON_VALUE, BinaryJsonConfig.APPLICATION_SMILE_VALUE, BinaryJsonConfig.APPLICATION_CBOR_VALUE})
+@RequiredArgsConstructor
+public class EnrollmentController {
+    private final EnrollmentService enrollmentService;
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<EntityModel<EnrollmentResDto>> enroll(@PathVariable Integer lectureId,
+                                                                @CurrentUser UserInfo currentUser) {
+        EntityModel<EnrollmentResDto> enrollmentResource = toResource(enrollmentService.enroll(lectureId, currentUser));
+        URI createUri = enrollmentResource.getRequiredLink(IanaLinkRelations.SELF).toUri();
+        return ResponseEntity.created(createUri).body(enrollmentResource);
+    }
+
+    @GetMapping("/me")
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<EntityModel<EnrollmentResDto>> getEnrollment(@PathVariable Integer lectureId,
+                                                                       @CurrentUser UserInfo currentUser) {
+        return ResponseEntity.ok(toResource(enrollmentService.getEnrollment(lectureId, currentUser)));
+    }
+
+    @DeleteMapping("/me")
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<EntityModel<EnrollmentResDto>> cancel(@PathVariable Integer lectureId,
+                                                                @CurrentUser UserInfo currentUser) {
+        return ResponseEntity.ok(toResource(enrollmentService.cancel(lectureId, currentUser)));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<PagedModel<EntityModel<EnrollmentResDto>>> getEnrollments(
+            @PathVariable Integer lectureId,
+            Pageable pageable,
+            PagedResourcesAssembler<EnrollmentResDto> assembler) {
+        return ResponseEntity.ok(assembler.toModel(enrollmentService.getEnrollments(lectureId, pageable),
+                resDto -> EntityModel.of(resDto, LectureLinks.lecture(lectureId, "lecture"))));
+    }
+
+    private static EntityModel<EnrollmentResDto> toResource(EnrollmentResDto resDto) {
+        return EntityModel.of(resDto,
+                Link.of(LectureLinks.enrollments(resDto.getLectureId()) + "/me").withSelfRel(),
+                LectureLinks.lecture(resDto.getLectureId(), "lecture"));
+    }
+}
@@ -1,44 +1,104 @@
 package com.boot3.myrestapi.lectures.controller;
 
+import com.boot3.myrestapi.common.config.BinaryJsonConfig;
 import com.boot3.myrestapi.common.errors.ErrorsResource;
 import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.LectureCursor;
+import com.boot3.myrestapi.lectures.dto.LectureFields;
+import com.boot3.myrestapi.lectures.dto.LectureMapper;
+import com.boot3.myrestapi.lectures.dto.LecturePageDto;
 import com.boot3.myrestapi.lectures.dto.LectureReqDto;
 import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCriteria;
+import com.boot3.myrestapi.lectures.dto.hateoas.LectureBatchResource;
+import com.boot3.myrestapi.lectures.dto.hateoas.LectureLinks;
 import com.boot3.myrestapi.lectures.dto.hateoas.LectureResource;
 import com.boot3.myrestapi.lectures.models.Lecture;
-import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.search.LectureText;
+import com.boot3.myrestapi.lectures.search.LectureTextIndex;
+import com.boot3.myrestapi.lectures.service.LectureBatchService;
+import com.boot3.myrestapi.lectures.service.LectureExportFormat;
+import com.boot3.myrestapi.lectures.service.LectureExportService;
+import com.boot3.myrestapi.lectures.service.LectureImportResult;
+import com.boot3.myrestapi.lectures.service.LectureImportService;
+import com.boot3.myrestapi.lectures.service.LectureService;
+import com.boot3.myrestapi.lectures.service.LectureStatusScheduler;
 import com.boot3.myrestapi.lectures.validator.LectureValidator;
 import com.boot3.myrestapi.security.annot.CurrentUser;
 import com.boot3.myrestapi.security.userinfo.UserInfo;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.Errors;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.UUID;
+import java.util.regex.Pattern;
 
 @RestController
-@RequestMapping(value = "/api/lectures", produces = MediaTypes.HAL_JSON_VALUE)
+//Smile/CBOR 도 HAL 과 같은 구조(_links, _embedded)로 응답
+@RequestMapping(value = "/api/lectures",
+        produces = {MediaTypes.HAL_JSON_VALUE, BinaryJsonConfig.APPLICATION_SMILE_VALUE, BinaryJsonConfig.APPLICATION_CBOR_VALUE})
 @RequiredArgsConstructor
 public class LectureController {
-    private final LectureRepository lectureRepository;
-    private final ModelMapper modelMapper;
+    private final LectureService lectureService;
+    private final LectureMapper lectureMapper;
     private final LectureValidator lectureValidator;
+    private final LectureTextIndex lectureTextIndex;
+    private final LectureBatchService lectureBatchService;
+    private final LectureExportService lectureExportService;
+    private final LectureImportService lectureImportService;
+    private final LectureStatusScheduler lectureStatusScheduler;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    @Value("${lectures.import.work-dir:${java.io.tmpdir}/lecture-import}")
+    private String importWorkDir;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    private static final int MAX_BATCH_ITEMS = 1000;
+    private static final Pattern IMPORT_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    //link 가 포함된 표현 (Accept 에 같은 우선순위로 있으면 앞의 것)
+    private static final List<MediaType> REPRESENTATIONS = List.of(
+            MediaTypes.HAL_JSON, BinaryJsonConfig.APPLICATION_SMILE, BinaryJsonConfig.APPLICATION_CBOR);
 
     //Constructor Injection 생성자주입
 //    public LectureController(LectureRepository lectureRepository) {
@@ -49,14 +109,10 @@ public class LectureController {
     public ResponseEntity updateLecture(@PathVariable Integer id,
                                         @RequestBody @Valid LectureReqDto lectureReqDto,
                                         Errors errors,
-                                        @CurrentUser UserInfo currentUser) {
-        Lecture existingLecture = getExistingLecture(id);
-        //Lecture가 참조하는 UserInfo 객체와 인증한 UserInfo 객체가 다르면 401 인증 오류
-        if((existingLecture.getUserInfo() != null) && (!existingLecture.getUserInfo().equals(currentUser))) {
-            throw new BadCredentialsException("등록한 User와 수정을 요청한 User가 다릅니다.");
-            //return new ResponseEntity(HttpStatus.UNAUTHORIZED);
-        }
-
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @CurrentUser UserInfo currentUser,
+                                        NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        //입력항목을 먼저 검증한 후 transaction 안에서 조회/등록자 확인/If-Match 확인/수정
         if (errors.hasErrors()) {
             return getErrors(errors);
         }
@@ -64,52 +120,77 @@ public class LectureController {
         if (errors.hasErrors()) {
             return getErrors(errors);
         }
-
-        this.modelMapper.map(lectureReqDto, existingLecture);
-        existingLecture.update();
-        Lecture savedLecture = this.lectureRepository.save(existingLecture);
-        LectureResDto lectureResDto = modelMapper.map(savedLecture, LectureResDto.class);
-
-        //Lecture 객체와 연관된 UserInfo 객체가 있다면 LectureResDto에 email을 set
-        if(savedLecture.getUserInfo() != null)
-            lectureResDto.setEmail(savedLecture.getUserInfo().getEmail());
+        Lecture savedLecture = lectureService.updateLecture(id, lectureReqDto,
+                version -> ifMatch == null || LectureETags.matches(ifMatch, id, version), currentUser);
+        lectureTextIndex.index(LectureText.of(savedLecture));
+        //수강신청 시작/마감 시각이 바뀌었을 수 있으므로 다시 등록
+        lectureStatusScheduler.schedule(savedLecture);
+        //Lecture 객체와 연관된 UserInfo 객체가 있다면 LectureResDto에 email도 포함됨
+        LectureResDto lectureResDto = lectureMapper.toResDto(savedLecture);
 
         LectureResource lectureResource = new LectureResource(lectureResDto);
-        return ResponseEntity.ok(lectureResource);
-    }
-
-    private Lecture getExistingLecture(Integer id) {
-        String errMsg = String.format("Id = %d Lecture Not Found", id);
-        Lecture existingLecture =
-                this.lectureRepository.findById(id)
-                        .orElseThrow(() -> new BusinessException(errMsg, HttpStatus.NOT_FOUND));
-        return existingLecture;
+        MediaType representation = representation(webRequest);
+        return ResponseEntity.ok()
+                .contentType(representation)
+                .eTag(LectureETags.of(lectureResDto, isOwner(savedLecture, currentUser), representation))
+                .lastModified(LectureETags.lastModified(lectureResDto.getModifiedAt()))
+                .body(lectureResource);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_USER')")
     public ResponseEntity getLecture(@PathVariable Integer id,
-                                     @CurrentUser UserInfo currentUser) {
+                                     @CurrentUser UserInfo currentUser,
+                                     NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
 //        Optional<Lecture> optionalLecture = this.lectureRepository.findById(id);
 //        if(optionalLecture.isEmpty()) {
 //            return ResponseEntity.notFound().build();
 //        }
 //        Lecture lecture = optionalLecture.get();
 
-        Lecture lecture = getExistingLecture(id);
+        //LectureResDto 컬럼과 등록한 User 의 email 을 한번의 SQL 로 조회
+        LectureResDto lectureResDto = this.lectureService.getLecture(id);
 
-        LectureResDto lectureResDto = modelMapper.map(lecture, LectureResDto.class);
-        //Lecture가 참조하는 UserInfo 가 있으면
-        if (lecture.getUserInfo() != null)
-            lectureResDto.setEmail(lecture.getUserInfo().getEmail());
+        MediaType representation = representation(webRequest);
+        boolean owner = isOwner(lectureResDto, currentUser);
+        String eTag = LectureETags.of(lectureResDto, owner, representation);
+        long lastModified = LectureETags.lastModified(lectureResDto.getModifiedAt());
+        //If-None-Match / If-Modified-Since 가 일치하면 Resource 생성과 JSON 변환 없이 304
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
 
         LectureResource lectureResource = new LectureResource(lectureResDto);
         //인증토큰의 email과 Lecture가 참조하는 email주소가 같으면 update 링크를 제공하기
-        if ((lecture.getUserInfo() != null) && (lecture.getUserInfo().equals(currentUser))) {
-            lectureResource.add(linkTo(LectureController.class)
-                    .slash(lecture.getId()).withRel("update-lecture"));
+        if (owner) {
+            lectureResource.add(LectureLinks.lecture(lectureResDto.getId(), "update-lecture"));
         }
-        return ResponseEntity.ok(lectureResource);
+        return ResponseEntity.ok()
+                .contentType(representation)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(lectureResource);
+    }
+
+    //Accept 에서 application/json 이 HAL/Smile/CBOR 보다 우선하면 (q 값 포함) link 없는 LectureResDto
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity getCompactLecture(@PathVariable Integer id,
+                                            WebRequest webRequest) {
+        LectureResDto lectureResDto = this.lectureService.getLecture(id);
+
+        String eTag = LectureETags.of(lectureResDto, false, MediaType.APPLICATION_JSON);
+        long lastModified = LectureETags.lastModified(lectureResDto.getModifiedAt());
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(lectureResDto);
     }
 
 
@@ -117,21 +198,18 @@ public class LectureController {
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity queryLectures(Pageable pageable,
                                         PagedResourcesAssembler<LectureResDto> assembler,
-                                        @CurrentUser UserInfo currentUser) {
-        Page<Lecture> lecturePage = this.lectureRepository.findAll(pageable);
-        // Page<Lecture> => Page<LectureResDto> 변환
-//        Page<LectureResDto> lectureResDtoPage =
-//                lecturePage.map(lecture -> modelMapper.map(lecture, LectureResDto.class));
-        Page<LectureResDto> lectureResDtoPage =
-                lecturePage.map(lecture -> {
-                    LectureResDto lectureResDto = new LectureResDto();
-                    if (lecture.getUserInfo() != null) {
-                        lectureResDto.setEmail(lecture.getUserInfo().getEmail());
-                    }
-                    modelMapper.map(lecture, lectureResDto);
-                    return lectureResDto;
-                });
-        
+                                        @CurrentUser UserInfo currentUser,
+                                        NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        // 페이지의 Lecture 와 등록한 User 의 email 을 한번의 SQL 로 조회 (N+1 방지)
+        Page<LectureResDto> lectureResDtoPage = this.lectureService.getLectures(pageable);
+
+        MediaType representation = representation(webRequest);
+        String eTag = LectureETags.of(lectureResDtoPage, representation);
+        //페이지 내용이 바뀌지 않았으면 PagedModel 생성과 JSON 변환 없이 304
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         // Page<LectureResDto> => PagedModel<EntityModel<LectureResDto>> 변환
         //PagedModel<EntityModel<LectureResDto>> pagedResources = assembler.toModel(lectureResDtoPage);
 
@@ -139,8 +217,203 @@ public class LectureController {
         PagedModel<LectureResource> pagedResources =
                 //assembler.toModel(lectureResDtoPage, resDto -> new LectureResource(resDto));
                 assembler.toModel(lectureResDtoPage, LectureResource::new);
+        return ResponseEntity.ok()
+                .contentType(representation)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(pagedResources);
+    }
+
+    //Accept 에서 application/json 이 우선하면 link 없는 페이지
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity queryCompactLectures(Pageable pageable,
+                                               WebRequest webRequest) {
+        Page<LectureResDto> lectureResDtoPage = this.lectureService.getLectures(pageable);
+
+        String eTag = LectureETags.of(lectureResDtoPage, MediaType.APPLICATION_JSON);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(LecturePageDto.of(lectureResDtoPage));
+    }
+
+    //?fields=name,location 처럼 요청한 property 의 컬럼만 조회해서 응답 (email 을 요청할 때만 UserInfo join)
+    @GetMapping(value = "/{id}", params = "fields")
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity getLectureFields(@PathVariable Integer id,
+                                           @RequestParam String fields) {
+        Map<String, Object> lecture = this.lectureService.getLectureFields(id, LectureFields.of(fields));
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(EntityModel.of(lecture, LectureLinks.self(id)));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity getCompactLectureFields(@PathVariable Integer id,
+                                                  @RequestParam String fields) {
+        Map<String, Object> lecture = this.lectureService.getLectureFields(id, LectureFields.of(fields));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(lecture);
+    }
+
+    @GetMapping(params = {"fields", "!after"})
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity queryLectureFields(@RequestParam String fields,
+                                             Pageable pageable,
+                                             PagedResourcesAssembler<Map<String, Object>> assembler) {
+        Page<Map<String, Object>> lecturePage = this.lectureService.getLectureFields(LectureFields.of(fields), pageable);
+
+        PagedModel<EntityModel<Map<String, Object>>> pagedResources = assembler.toModel(lecturePage,
+                lecture -> EntityModel.of(lecture, LectureLinks.self((Integer) lecture.get("id"))));
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(pagedResources);
+    }
+
+    @GetMapping(params = {"fields", "!after"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity queryCompactLectureFields(@RequestParam String fields,
+                                                    Pageable pageable) {
+        Page<Map<String, Object>> lecturePage = this.lectureService.getLectureFields(LectureFields.of(fields), pageable);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(LecturePageDto.of(lecturePage));
+    }
+
+    //상태, 날짜 범위, 가격, 장소, 등록자 조건으로 검색 (mine=true 이면 내가 등록한 Lecture 만)
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity searchLectures(LectureSearchCriteria criteria,
+                                         Pageable pageable,
+                                         PagedResourcesAssembler<LectureResDto> assembler,
+                                         @CurrentUser UserInfo currentUser) {
+        Page<LectureResDto> lectureResDtoPage = this.lectureService.searchLectures(criteria, currentUser, pageable);
+
+        PagedModel<LectureResource> pagedResources =
+                assembler.toModel(lectureResDtoPage, LectureResource::new);
+        return ResponseEntity.ok(pagedResources);
+    }
+
+    //name, description 키워드/prefix 검색 (LectureTextIndex), 점수가 높은 순서로 페이징 (요청한 페이지까지만 순위를 매김)
+    @GetMapping("/search/text")
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity searchLecturesByText(@RequestParam String q,
+                                               Pageable pageable,
+                                               PagedResourcesAssembler<LectureResDto> assembler) {
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        LectureTextIndex.Hits hits = lectureTextIndex.search(q, limit);
+        List<Integer> rankedIds = hits.lectureIds();
+        List<Integer> pageIds = rankedIds.subList((int) Math.min(pageable.getOffset(), rankedIds.size()),
+                rankedIds.size());
+
+        //페이지의 Lecture 를 한번의 SQL 로 조회한 후 점수 순서로 정렬
+        Map<Integer, LectureResDto> resDtoById = new HashMap<>();
+        if (!pageIds.isEmpty()) {
+            this.lectureService.getLecturesByIds(pageIds)
+                    .forEach(resDto -> resDtoById.put(resDto.getId(), resDto));
+        }
+        List<LectureResDto> content = pageIds.stream()
+                .map(resDtoById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        Page<LectureResDto> lectureResDtoPage = new PageImpl<>(content, pageable, hits.total());
+
+        PagedModel<LectureResource> pagedResources =
+                assembler.toModel(lectureResDtoPage, LectureResource::new);
         return ResponseEntity.ok(pagedResources);
     }
+
+    //검색과 같은 조건으로 전체 Lecture 를 NDJSON/CSV 로 내보내기 (Page, HAL link 없이 DB cursor 에서 바로 씀)
+    @GetMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportLectures(@RequestParam(defaultValue = "ndjson") String format,
+                                                                LectureSearchCriteria criteria,
+                                                                @CurrentUser UserInfo currentUser) {
+        LectureExportFormat exportFormat = LectureExportFormat.of(format);
+        StreamingResponseBody body = outputStream ->
+                lectureExportService.export(criteria, currentUser, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("lectures." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
+    //NDJSON/CSV 요청 body 를 한 레코드씩 읽어서 chunk 단위로 저장, 같은 importId 로 다시 요청하면 중단된 곳부터 이어서 처리
+    @PostMapping("/import")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    //응답에는 서버의 파일 경로 대신 reject 파일을 내려받는 link 를 포함
+    public ResponseEntity<EntityModel<LectureImportResult>> importLectures(@RequestParam(defaultValue = "ndjson") String format,
+                                                                           @RequestParam(required = false) String importId,
+                                                                           HttpServletRequest request,
+                                                                           @CurrentUser UserInfo currentUser) throws IOException {
+        LectureExportFormat importFormat = LectureExportFormat.of(format);
+        if (importId == null) {
+            importId = UUID.randomUUID().toString();
+        } else {
+            checkImportId(importId);
+        }
+        Reader body = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8);
+        LectureImportResult result = lectureImportService.importLectures(
+                body, importFormat, currentUser, Path.of(importWorkDir), importId);
+        return ResponseEntity.ok(EntityModel.of(result, LectureLinks.importRejects(importId)));
+    }
+
+    //가져오기에서 reject 된 레코드 (NDJSON)
+    @GetMapping(value = "/import/{importId}/rejects", produces = "application/x-ndjson")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Resource> getImportRejects(@PathVariable String importId) {
+        checkImportId(importId);
+        Path rejectFile = lectureImportService.rejectFile(Path.of(importWorkDir), importId);
+        if (!Files.exists(rejectFile)) {
+            throw new BusinessException(String.format("importId = %s 가져오기 결과가 없습니다.", importId),
+                    HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(importId + ".rejects.ndjson").build().toString())
+                .body(new FileSystemResource(rejectFile));
+    }
+
+    //cursor 모드 : ?after=<cursor>&size=N (첫 페이지는 after 값을 비워서 요청)
+    //OFFSET/COUNT 없이 인덱스 (beginLectureDateTime, id) 를 따라 조회하므로 페이지가 깊어져도 속도가 일정함
+    @GetMapping(params = "after")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity queryLecturesAfter(@RequestParam String after,
+                                             @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        LectureCursor cursor = LectureCursor.decode(after);
+        //다음 페이지 존재 여부를 알기 위해 한건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<LectureResDto> lectureResDtos = this.lectureService.getLecturesAfter(cursor, limit);
+
+        boolean hasNext = lectureResDtos.size() > pageSize;
+        if (hasNext) {
+            lectureResDtos = lectureResDtos.subList(0, pageSize);
+        }
+        CollectionModel<LectureResource> collectionModel = CollectionModel.of(
+                lectureResDtos.stream().map(LectureResource::new).toList());
+
+        ServletUriComponentsBuilder current = ServletUriComponentsBuilder.fromCurrentRequest();
+        collectionModel.add(Link.of(current.toUriString()).withSelfRel());
+        if (hasNext) {
+            String next = LectureCursor.of(lectureResDtos.get(pageSize - 1)).encode();
+            collectionModel.add(Link.of(current.replaceQueryParam("after", next)
+                    .replaceQueryParam("size", pageSize).toUriString()).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(collectionModel);
+    }
+
     @PostMapping
     public ResponseEntity<?> createLecture(@RequestBody @Valid LectureReqDto lectureReqDto,
                                            Errors errors,
@@ -154,34 +427,88 @@ public class LectureController {
         if(errors.hasErrors()) {
             return getErrors(errors);
         }
-        // ReqDTO => Entity 변환
-        Lecture lecture = modelMapper.map(lectureReqDto, Lecture.class);
-
-        //offline, free 필드의 값을 설정
-        lecture.update();
-
-        //Lecture와 UserInfo 연관관계 설정
-        lecture.setUserInfo(currentUser);
-
-        Lecture addedLecture = lectureRepository.save(lecture);
-        // Entity => ResDTO 변환
-        LectureResDto lectureResDto = modelMapper.map(addedLecture, LectureResDto.class);
-
-        //LectureResDto 에 UserInfo 객체의 email set
-        lectureResDto.setEmail(addedLecture.getUserInfo().getEmail());
+        Lecture addedLecture = lectureService.createLecture(lectureReqDto, currentUser);
+        lectureTextIndex.index(LectureText.of(addedLecture));
+        lectureStatusScheduler.schedule(addedLecture);
+        // Entity => ResDTO 변환 (UserInfo 객체의 email 포함)
+        LectureResDto lectureResDto = lectureMapper.toResDto(addedLecture);
 
-        WebMvcLinkBuilder selfLinkBuilder = linkTo(LectureController.class).slash(lectureResDto.getId());
-        URI createUri = selfLinkBuilder.toUri();
+        URI createUri = URI.create(LectureLinks.lecture(lectureResDto.getId()));
 
         LectureResource lectureResource = new LectureResource(lectureResDto);
         //Rel 'query-lectures' link 생성
-        lectureResource.add(linkTo(LectureController.class).withRel("query-lectures"));
+        lectureResource.add(LectureLinks.lectures("query-lectures"));
         //Rel 'update-lecture' link 생성
-        lectureResource.add(selfLinkBuilder.withRel("update-lecture"));
+        lectureResource.add(LectureLinks.lecture(lectureResDto.getId(), "update-lecture"));
 
         return ResponseEntity.created(createUri).body(lectureResource);
     }
 
+    //여러 Lecture 를 한번에 등록, 항목별로 검증해서 오류가 없는 항목만 JDBC batch insert 로 저장
+    @PostMapping("/batch")
+    public ResponseEntity<?> createLectures(@RequestBody List<LectureReqDto> lectureReqDtos,
+                                            @CurrentUser UserInfo currentUser) {
+        if (lectureReqDtos.size() > MAX_BATCH_ITEMS) {
+            throw new BusinessException(
+                    String.format("한번에 등록할 수 있는 Lecture 는 %d 건 이하입니다.", MAX_BATCH_ITEMS),
+                    HttpStatus.BAD_REQUEST);
+        }
+        List<Errors> itemErrors = lectureBatchService.validate(lectureReqDtos);
+        List<LectureReqDto> validReqDtos = new ArrayList<>();
+        List<LectureBatchResource.ItemErrors> errors = new ArrayList<>();
+        for (int i = 0; i < lectureReqDtos.size(); i++) {
+            if (itemErrors.get(i) == null) {
+                validReqDtos.add(lectureReqDtos.get(i));
+            } else {
+                errors.add(new LectureBatchResource.ItemErrors(i, new ErrorsResource(itemErrors.get(i))));
+            }
+        }
+
+        List<LectureResource> created = new ArrayList<>(validReqDtos.size());
+        if (!validReqDtos.isEmpty()) {
+            for (Lecture savedLecture : lectureBatchService.saveAll(validReqDtos, currentUser)) {
+                lectureTextIndex.index(LectureText.of(savedLecture));
+                lectureStatusScheduler.schedule(savedLecture);
+                created.add(new LectureResource(lectureMapper.toResDto(savedLecture)));
+            }
+        }
+        LectureBatchResource lectureBatchResource = new LectureBatchResource(created, errors);
+        lectureBatchResource.add(LectureLinks.lectures("query-lectures"));
+        //한건도 저장하지 못했으면 400
+        HttpStatus httpStatus = created.isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
+        return ResponseEntity.status(httpStatus).body(lectureBatchResource);
+    }
+
+    //importId 는 파일 이름에 사용하므로 경로 문자를 허용하지 않음
+    private static void checkImportId(String importId) {
+        if (!IMPORT_ID_PATTERN.matcher(importId).matches()) {
+            throw new BusinessException("importId 는 영문, 숫자, '-', '_' 만 사용할 수 있습니다.", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    //Accept 를 q 값 순서로 보고 HAL/Smile/CBOR 중 응답할 표현을 고름 (ETag 와 Content-Type 을 같은 표현으로 맞춤)
+    private MediaType representation(NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+            for (MediaType representation : REPRESENTATIONS) {
+                if (accepted.isCompatibleWith(representation)) {
+                    return representation;
+                }
+            }
+        }
+        return MediaTypes.HAL_JSON;
+    }
+
+    //인증토큰의 UserInfo 는 DB에서 조회한 객체가 아닐 수 있으므로(claims 모드) id 로 비교
+    private static boolean isOwner(Lecture lecture, UserInfo currentUser) {
+        return lecture.getUserInfo() != null && currentUser != null
+                && lecture.getUserInfo().getId() == currentUser.getId();
+    }
+
+    private static boolean isOwner(LectureResDto lectureResDto, UserInfo currentUser) {
+        return lectureResDto.getEmail() != null && currentUser != null
+                && lectureResDto.getEmail().equals(currentUser.getEmail());
+    }
+
     private static ResponseEntity<ErrorsResource> getErrors(Errors errors) {
 
         return ResponseEntity.badRequest().body(new ErrorsResource(errors));
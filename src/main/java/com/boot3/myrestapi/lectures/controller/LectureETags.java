@@ -0,0 +1,98 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.config.BinaryJsonConfig;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/*
+    Lecture 응답의 ETag / Last-Modified 값
+    - 단건 : "<id>.<version>.<등록자 email hash>" (update-lecture link 가 포함된 등록자 응답은 ".o",
+            link 없는 application/json 응답은 ".c", Smile/CBOR 응답은 뒤에 ".s"/".b" 를 붙임)
+            등록자의 email 이 바뀌면 Lecture 의 version 은 그대로지만 응답의 email 이 달라지므로 ETag 에 포함
+    - 페이지 : application/json 응답은 "c.", HAL 응답은 "p.", Smile 은 "s.", CBOR 는 "b." 로 시작하고
+            페이지에 포함된 (id, version, email) 과 페이지 번호/크기/정렬/전체건수로 만든 hash
+            페이지는 Last-Modified 를 보내지 않음 (삭제되거나 페이지에서 밀려난 Lecture 는 수정 시각에 나타나지 않으므로 ETag 로만 검증)
+    바이트가 다른 표현이 같은 강한 ETag 를 쓰면 cache 가 다른 형식의 body 로 304 를 처리하므로 media type 별로 구분
+ */
+final class LectureETags {
+    private LectureETags() {
+    }
+
+    static String of(LectureResDto lectureResDto, boolean owner, MediaType representation) {
+        String suffix;
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(representation)) {
+            suffix = ".c";
+        } else {
+            suffix = (owner ? ".o" : "") + binarySuffix(representation);
+        }
+        return "\"" + lectureResDto.getId() + "." + lectureResDto.getVersion() + "." + emailHash(lectureResDto)
+                + suffix + "\"";
+    }
+
+    static String of(Page<LectureResDto> page, MediaType representation) {
+        long hash = 17;
+        hash = hash * 31 + page.getNumber();
+        hash = hash * 31 + page.getSize();
+        hash = hash * 31 + page.getSort().hashCode();
+        hash = hash * 31 + page.getTotalElements();
+        for (LectureResDto lectureResDto : page.getContent()) {
+            hash = hash * 31 + lectureResDto.getId();
+            hash = hash * 31 + (lectureResDto.getVersion() == null ? 0 : lectureResDto.getVersion());
+            hash = hash * 31 + Objects.hashCode(lectureResDto.getEmail());
+        }
+        String prefix;
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(representation)) {
+            prefix = "c";
+        } else if (BinaryJsonConfig.APPLICATION_SMILE.equalsTypeAndSubtype(representation)) {
+            prefix = "s";
+        } else if (BinaryJsonConfig.APPLICATION_CBOR.equalsTypeAndSubtype(representation)) {
+            prefix = "b";
+        } else {
+            prefix = "p";
+        }
+        return "\"" + prefix + "." + Long.toHexString(hash) + "\"";
+    }
+
+    private static String emailHash(LectureResDto lectureResDto) {
+        return Integer.toHexString(Objects.hashCode(lectureResDto.getEmail()));
+    }
+
+    private static String binarySuffix(MediaType representation) {
+        if (BinaryJsonConfig.APPLICATION_SMILE.equalsTypeAndSubtype(representation)) {
+            return ".s";
+        }
+        if (BinaryJsonConfig.APPLICATION_CBOR.equalsTypeAndSubtype(representation)) {
+            return ".b";
+        }
+        return "";
+    }
+
+    //If-Match 헤더가 id, version 과 일치하는지 확인 (email hash 와 표현 구분용 ".o", ".c", ".s", ".b" 는 무시)
+    static boolean matches(String ifMatch, Integer id, Long version) {
+        String expected = id + "." + version;
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                //약한 ETag 는 If-Match 에 사용할 수 없음
+                continue;
+            }
+            value = value.replace("\"", "");
+            if (value.equals(expected) || value.startsWith(expected + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static long lastModified(LocalDateTime modifiedAt) {
+        return modifiedAt == null ? -1 : modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,63 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.LecturePageDto;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.models.LectureReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    non-blocking 조회 전용 API (등록/수정은 LectureController)
+    - DB 조회는 R2DBC driver 로 하고, 응답을 기다리는 동안 요청 thread 를 점유하지 않음 (Servlet async)
+    - 인증은 /api/lectures 와 같은 JwtAuthenticationFilter(JwtService) 를 거침
+    - Flux 응답(NDJSON, SSE)은 client 가 한건을 받아갈 때마다 다음 건을 DB 에서 읽어옴 (backpressure)
+ */
+@RestController
+@RequestMapping("/rx/api/lectures")
+@RequiredArgsConstructor
+public class LectureReactiveController {
+    private final LectureReactiveRepository lectureReactiveRepository;
+
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public Mono<LectureResDto> getLecture(@PathVariable Integer id) {
+        return lectureReactiveRepository.findResDtoById(id)
+                .switchIfEmpty(Mono.error(() -> new BusinessException(
+                        String.format("Id = %d Lecture Not Found", id), HttpStatus.NOT_FOUND)));
+    }
+
+    //page, size 로 조회한 페이지 (id 순서)
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Mono<LecturePageDto<LectureResDto>> queryLectures(@RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return Mono.zip(
+                        lectureReactiveRepository.findResDtos(pageRequest.getOffset(), pageRequest.getPageSize())
+                                .collectList(),
+                        lectureReactiveRepository.count())
+                .map(tuple -> LecturePageDto.of(new PageImpl<>(tuple.getT1(), pageRequest, tuple.getT2())));
+    }
+
+    //id 가 after 보다 큰 Lecture 를 id 순서로 한건씩 streaming (limit 이 없으면 끝까지)
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Flux<LectureResDto> streamLectures(@RequestParam(defaultValue = "0") int after,
+                                              @RequestParam(defaultValue = "" + Long.MAX_VALUE) long limit) {
+        return lectureReactiveRepository.findResDtosAfter(after, Math.max(limit, 0));
+    }
+}
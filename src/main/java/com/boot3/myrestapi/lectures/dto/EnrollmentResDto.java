@@ -0,0 +1,31 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.lectures.models.EnrollmentStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResDto {
+    private Long id;
+    private Integer lectureId;
+    private String email;
+    private EnrollmentStatus status;
+    @JsonFormat(pattern="yyyy-MM-dd HH:mm")
+    private LocalDateTime createdAt;
+    //WAITLISTED 인 경우 대기 순서 (1부터)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long waitlistPosition;
+
+    public EnrollmentResDto(Long id, Integer lectureId, String email, EnrollmentStatus status, LocalDateTime createdAt) {
+        this(id, lectureId, email, status, createdAt, null);
+    }
+}
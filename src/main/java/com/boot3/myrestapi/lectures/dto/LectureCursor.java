@@ -0,0 +1,40 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/*
+    keyset 페이징의 cursor : 마지막으로 조회한 Lecture 의 (beginLectureDateTime, id)
+    client 에게는 base64url 문자열로 전달되며 내용에 의존하지 않도록 함
+ */
+public record LectureCursor(LocalDateTime beginLectureDateTime, Integer id) {
+    private static final char SEPARATOR = '|';
+
+    public static LectureCursor of(LectureResDto lectureResDto) {
+        return new LectureCursor(lectureResDto.getBeginLectureDateTime(), lectureResDto.getId());
+    }
+
+    public String encode() {
+        String raw = beginLectureDateTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //빈 문자열이면 첫 페이지(null)
+    public static LectureCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            return new LectureCursor(LocalDateTime.parse(raw.substring(0, idx)),
+                    Integer.valueOf(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor : " + cursor, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import jakarta.persistence.Tuple;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    ?fields=name,location 처럼 응답에 포함할 LectureResDto property 목록
+    - id 는 self link 를 만들기 위해 항상 포함
+    - email 을 요청할 때만 UserInfo 를 join 함
+ */
+public record LectureFields(List<String> names) {
+    //LectureResDto 의 응답 property (응답 순서)
+    public static final List<String> ALL = List.of("id", "name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginLectureDateTime", "endLectureDateTime",
+            "location", "basePrice", "maxPrice", "limitOfEnrollment", "offline", "free", "email");
+    public static final String EMAIL = "email";
+    //LectureResDto 의 @JsonFormat 과 같은 형식
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    public static LectureFields of(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(name)) {
+                throw new BusinessException(String.format("Unknown field : %s (allowed : %s)",
+                        name, String.join(",", ALL)), HttpStatus.BAD_REQUEST);
+            }
+            names.add(name);
+        }
+        //응답 property 순서는 LectureResDto 와 같게
+        return new LectureFields(ALL.stream().filter(names::contains).toList());
+    }
+
+    public boolean includesEmail() {
+        return names.contains(EMAIL);
+    }
+
+    //select 절의 alias 가 property 이름
+    public Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String name : names) {
+            Object value = tuple.get(name);
+            map.put(name, value instanceof LocalDateTime dateTime ? DATE_TIME_FORMATTER.format(dateTime) : value);
+        }
+        return map;
+    }
+}
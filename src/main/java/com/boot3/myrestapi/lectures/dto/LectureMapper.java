@@ -0,0 +1,55 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.lectures.models.Lecture;
+import org.springframework.stereotype.Component;
+
+/*
+    Lecture <=> DTO 변환 (reflection 을 사용하는 ModelMapper 대신 필드를 직접 복사)
+    DTO 에 필드를 추가하면 이 클래스에도 추가해야 함
+ */
+@Component
+public class LectureMapper {
+
+    // ReqDTO => Entity 변환
+    public Lecture toEntity(LectureReqDto lectureReqDto) {
+        Lecture lecture = new Lecture();
+        updateEntity(lectureReqDto, lecture);
+        return lecture;
+    }
+
+    // ReqDTO 의 값으로 기존 Entity 수정
+    public void updateEntity(LectureReqDto lectureReqDto, Lecture lecture) {
+        lecture.setName(lectureReqDto.getName());
+        lecture.setDescription(lectureReqDto.getDescription());
+        lecture.setBeginEnrollmentDateTime(lectureReqDto.getBeginEnrollmentDateTime());
+        lecture.setCloseEnrollmentDateTime(lectureReqDto.getCloseEnrollmentDateTime());
+        lecture.setBeginLectureDateTime(lectureReqDto.getBeginLectureDateTime());
+        lecture.setEndLectureDateTime(lectureReqDto.getEndLectureDateTime());
+        lecture.setLocation(lectureReqDto.getLocation());
+        lecture.setBasePrice(lectureReqDto.getBasePrice());
+        lecture.setMaxPrice(lectureReqDto.getMaxPrice());
+        lecture.setLimitOfEnrollment(lectureReqDto.getLimitOfEnrollment());
+    }
+
+    // Entity => ResDTO 변환 (UserInfo 가 있으면 email 포함)
+    public LectureResDto toResDto(Lecture lecture) {
+        String email = lecture.getUserInfo() != null ? lecture.getUserInfo().getEmail() : null;
+        return new LectureResDto(
+                lecture.getId(),
+                lecture.getName(),
+                lecture.getDescription(),
+                lecture.getBeginEnrollmentDateTime(),
+                lecture.getCloseEnrollmentDateTime(),
+                lecture.getBeginLectureDateTime(),
+                lecture.getEndLectureDateTime(),
+                lecture.getLocation(),
+                lecture.getBasePrice(),
+                lecture.getMaxPrice(),
+                lecture.getLimitOfEnrollment(),
+                lecture.isOffline(),
+                lecture.isFree(),
+                email,
+                lecture.getVersion(),
+                lecture.getModifiedAt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+//Accept: application/json 요청에 대한 _links 없는 페이지 응답 (content 는 LectureResDto 또는 ?fields= 의 Map)
+public record LecturePageDto<T>(List<T> content, int number, int size, long totalElements, int totalPages) {
+    public static <T> LecturePageDto<T> of(Page<T> page) {
+        return new LecturePageDto<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -1,6 +1,7 @@
 package com.boot3.myrestapi.lectures.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,4 +32,9 @@ public class LectureResDto {
     private boolean offline;
     private boolean free;
     private String email;
+    //ETag, Last-Modified 헤더를 만들 때만 사용 (응답 body 에는 포함하지 않음)
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private LocalDateTime modifiedAt;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.lectures.models.LectureStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/*
+    GET /api/lectures/search 의 검색조건 (모든 항목은 선택, 값이 있는 항목만 where 절에 추가됨)
+    날짜는 ISO 형식 (예: 2024-05-01T09:00)
+ */
+@Data
+public class LectureSearchCriteria {
+    private LectureStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime enrollmentFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime enrollmentTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime lectureFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime lectureTo;
+
+    private Boolean free;
+    private Boolean offline;
+
+    //basePrice >= minPrice, maxPrice <= maxPrice
+    private Integer minPrice;
+    private Integer maxPrice;
+
+    //location 앞부분 일치 (index 를 사용할 수 있도록 like 'xxx%')
+    private String location;
+
+    //등록한 User 의 email
+    private String owner;
+    //true 이면 현재 인증한 User 가 등록한 Lecture 만
+    private boolean mine;
+}
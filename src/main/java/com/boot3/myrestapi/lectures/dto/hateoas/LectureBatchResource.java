@@ -0,0 +1,28 @@
+package com.boot3.myrestapi.lectures.dto.hateoas;
+
+import com.boot3.myrestapi.common.errors.ErrorsResource;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+
+//POST /api/lectures/batch 의 응답 : 저장된 Lecture 와 오류가 있는 항목의 index 별 ErrorsResource
+public class LectureBatchResource extends RepresentationModel<LectureBatchResource> {
+    private final List<LectureResource> created;
+    private final List<ItemErrors> errors;
+
+    public LectureBatchResource(List<LectureResource> created, List<ItemErrors> errors) {
+        this.created = created;
+        this.errors = errors;
+    }
+
+    public List<LectureResource> getCreated() {
+        return created;
+    }
+
+    public List<ItemErrors> getErrors() {
+        return errors;
+    }
+
+    public record ItemErrors(int index, ErrorsResource errors) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.boot3.myrestapi.lectures.dto.hateoas;
+
+import com.boot3.myrestapi.lectures.controller.LectureController;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/*
+    Lecture link 생성
+    linkTo(LectureController.class) 는 호출할 때마다 Controller 의 mapping 을 reflection 으로 찾고 요청 정보를 읽으므로
+    mapping 경로는 한번만 읽어두고, "<scheme://host:port/servlet-mapping>/api/lectures" 는 요청마다 한번만 만들어서
+    request attribute 에 보관한 후 id 만 붙여서 사용함
+ */
+public final class LectureLinks {
+    private static final String LECTURES_PATH = AnnotatedElementUtils
+            .findMergedAnnotation(LectureController.class, RequestMapping.class).path()[0];
+    private static final String BASE_ATTRIBUTE = LectureLinks.class.getName() + ".base";
+
+    private LectureLinks() {
+    }
+
+    // .../api/lectures
+    public static String lectures() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return LECTURES_PATH;
+        }
+        String base = (String) attributes.getAttribute(BASE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (base == null) {
+            base = ServletUriComponentsBuilder.fromCurrentServletMapping().path(LECTURES_PATH).toUriString();
+            attributes.setAttribute(BASE_ATTRIBUTE, base, RequestAttributes.SCOPE_REQUEST);
+        }
+        return base;
+    }
+
+    // .../api/lectures/{id}
+    public static String lecture(Integer id) {
+        return lectures() + "/" + id;
+    }
+
+    // .../api/lectures/{id}/enrollments
+    public static String enrollments(Integer id) {
+        return lecture(id) + "/enrollments";
+    }
+
+    // .../api/lectures/import/{importId}/rejects
+    public static Link importRejects(String importId) {
+        return Link.of(lectures() + "/import/" + importId + "/rejects", "rejects");
+    }
+
+    public static Link self(Integer id) {
+        return Link.of(lecture(id));
+    }
+
+    public static Link lecture(Integer id, String rel) {
+        return Link.of(lecture(id), rel);
+    }
+
+    public static Link lectures(String rel) {
+        return Link.of(lectures(), rel);
+    }
+}
@@ -0,0 +1,44 @@
+package com.boot3.myrestapi.lectures.models;
+
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/*
+    수강 신청 원장 (좌석 수의 기준 데이터)
+    - 같은 User 는 Lecture 당 하나의 신청만 가능 (취소 후 다시 신청하면 새 신청이 되어 대기 순서도 맨 뒤)
+    - 대기자(WAITLISTED)는 id 순서로 좌석을 받음
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@Entity
+@Table(name = "enrollments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollments_lecture_user",
+                columnNames = {"lecture_id", "user_info_id"}),
+        indexes = @Index(name = "idx_enrollments_lecture_status", columnList = "lecture_id, status, id"))
+public class Enrollment {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "lecture_id")
+    private Lecture lecture;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_info_id")
+    private UserInfo userInfo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EnrollmentStatus status;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
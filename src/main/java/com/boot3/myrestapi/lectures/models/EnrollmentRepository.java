@@ -0,0 +1,42 @@
+package com.boot3.myrestapi.lectures.models;
+
+import com.boot3.myrestapi.lectures.dto.EnrollmentResDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    String RES_DTO_SELECT = "select new com.boot3.myrestapi.lectures.dto.EnrollmentResDto("
+            + "e.id, e.lecture.id, u.email, e.status, e.createdAt) "
+            + "from Enrollment e join e.userInfo u";
+
+    Optional<Enrollment> findByLectureIdAndUserInfoId(Integer lectureId, int userInfoId);
+
+    long countByLectureIdAndStatus(Integer lectureId, EnrollmentStatus status);
+
+    //대기 순서 : 나보다 먼저 대기한 사람 수 + 1
+    @Query("select count(e) + 1 from Enrollment e where e.lecture.id = :lectureId "
+            + "and e.status = com.boot3.myrestapi.lectures.models.EnrollmentStatus.WAITLISTED and e.id < :id")
+    long findWaitlistPosition(Integer lectureId, Long id);
+
+    //afterId 다음으로 먼저 대기한 신청
+    Optional<Enrollment> findFirstByLectureIdAndStatusAndIdGreaterThanOrderByIdAsc(Integer lectureId,
+                                                                                   EnrollmentStatus status,
+                                                                                   Long afterId);
+
+    //현재 상태가 expected 일 때만 변경 (동시에 같은 신청을 변경하면 한쪽만 1을 반환)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Enrollment e set e.status = :status where e.id = :id and e.status = :expected")
+    int updateStatus(Long id, EnrollmentStatus expected, EnrollmentStatus status);
+
+    @Query(value = RES_DTO_SELECT + " where e.lecture.id = :lectureId",
+            countQuery = "select count(e) from Enrollment e where e.lecture.id = :lectureId")
+    Page<EnrollmentResDto> findResDtosByLectureId(Integer lectureId, Pageable pageable);
+
+    @Query(RES_DTO_SELECT + " where e.id = :id")
+    Optional<EnrollmentResDto> findResDtoById(Long id);
+}
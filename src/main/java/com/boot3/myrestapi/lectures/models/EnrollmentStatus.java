@@ -0,0 +1,5 @@
+package com.boot3.myrestapi.lectures.models;
+
+public enum EnrollmentStatus {
+    ENROLLED, WAITLISTED, CANCELLED
+}
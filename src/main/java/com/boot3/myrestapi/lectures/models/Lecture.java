@@ -3,6 +3,7 @@ package com.boot3.myrestapi.lectures.models;
 import com.boot3.myrestapi.security.userinfo.UserInfo;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -13,9 +14,22 @@ import java.time.LocalDateTime;
 @Setter
 @EqualsAndHashCode(of="id")
 @Entity
-@Table(name = "lectures")
+@Table(name = "lectures", indexes = {
+        //keyset 페이징의 정렬 key
+        @Index(name = "idx_lectures_begin_lecture_id", columnList = "beginLectureDateTime, id"),
+        //검색(LectureSpecifications) 조건에 맞춘 복합 인덱스
+        @Index(name = "idx_lectures_status_begin_enrollment", columnList = "lectureStatus, beginEnrollmentDateTime"),
+        @Index(name = "idx_lectures_status_begin_lecture", columnList = "lectureStatus, beginLectureDateTime"),
+        //수강신청 마감 시각이 된 Lecture 조회 (LectureStatusScheduler)
+        @Index(name = "idx_lectures_status_close_enrollment", columnList = "lectureStatus, closeEnrollmentDateTime"),
+        @Index(name = "idx_lectures_owner_begin_lecture", columnList = "user_info_id, beginLectureDateTime"),
+        @Index(name = "idx_lectures_price", columnList = "basePrice, maxPrice"),
+        @Index(name = "idx_lectures_location", columnList = "location")
+})
 public class Lecture {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //IDENTITY 는 insert 마다 id 를 받아와야 해서 JDBC batch insert 가 불가능하므로 sequence 를 50개씩 할당받아 사용
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lectures_seq")
+    @SequenceGenerator(name = "lectures_seq", sequenceName = "lectures_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false)
@@ -46,7 +60,16 @@ public class Lecture {
     @Enumerated(EnumType.STRING)
     private LectureStatus lectureStatus = LectureStatus.DRAFT;
 
-    @ManyToOne
+    //낙관적 잠금 및 ETag 에 사용, 수정할 때마다 증가
+    @Version
+    private Long version;
+
+    //Last-Modified 헤더에 사용
+    @UpdateTimestamp
+    private LocalDateTime modifiedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_info_id")
     private UserInfo userInfo;
 
     public void update() {
@@ -0,0 +1,5 @@
+package com.boot3.myrestapi.lectures.models;
+
+//수강 신청할 때 확인하는 정원과 상태
+public record LectureCapacity(int limitOfEnrollment, LectureStatus lectureStatus) {
+}
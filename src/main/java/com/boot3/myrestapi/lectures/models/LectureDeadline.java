@@ -0,0 +1,7 @@
+package com.boot3.myrestapi.lectures.models;
+
+import java.time.LocalDateTime;
+
+//상태가 바뀔 Lecture 의 id 와 시각
+public record LectureDeadline(Integer id, LocalDateTime dueAt) {
+}
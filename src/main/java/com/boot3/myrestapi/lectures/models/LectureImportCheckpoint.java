@@ -0,0 +1,30 @@
+package com.boot3.myrestapi.lectures.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/*
+    Lecture 가져오기(importId)에서 저장까지 끝난 레코드 수
+    chunk 의 Lecture 와 같은 transaction 에서 변경하므로 commit 된 chunk 와 항상 일치함
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(of = "importId")
+@Entity
+@Table(name = "lecture_import_checkpoints")
+public class LectureImportCheckpoint {
+    @Id
+    private String importId;
+
+    @Column(nullable = false)
+    private long records;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
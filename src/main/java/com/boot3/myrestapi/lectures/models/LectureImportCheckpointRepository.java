@@ -0,0 +1,6 @@
+package com.boot3.myrestapi.lectures.models;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LectureImportCheckpointRepository extends JpaRepository<LectureImportCheckpoint, String> {
+}
@@ -0,0 +1,81 @@
+package com.boot3.myrestapi.lectures.models;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/*
+    R2DBC(non-blocking driver) 로 LectureResDto 를 조회하는 Repository (/rx/api/lectures 에서 사용, 조회 전용)
+    LectureRepository.RES_DTO_SELECT 와 같은 컬럼을 SQL 로 조회함
+ */
+@Repository
+public class LectureReactiveRepository {
+    private static final String RES_DTO_SELECT = "select l.id, l.name, l.description, "
+            + "l.begin_enrollment_date_time, l.close_enrollment_date_time, "
+            + "l.begin_lecture_date_time, l.end_lecture_date_time, l.location, l.base_price, l.max_price, "
+            + "l.limit_of_enrollment, l.offline, l.free, u.email, l.version, l.modified_at "
+            + "from lectures l left join user_info u on u.id = l.user_info_id";
+
+    private final DatabaseClient databaseClient;
+
+    public LectureReactiveRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    public Mono<LectureResDto> findResDtoById(Integer id) {
+        return databaseClient.sql(RES_DTO_SELECT + " where l.id = :id")
+                .bind("id", id)
+                .map(LectureReactiveRepository::toResDto)
+                .one();
+    }
+
+    public Flux<LectureResDto> findResDtos(long offset, int limit) {
+        return databaseClient.sql(RES_DTO_SELECT + " order by l.id limit :limit offset :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(LectureReactiveRepository::toResDto)
+                .all();
+    }
+
+    //id 가 afterId 보다 큰 Lecture 를 id 순서로 limit 건까지, 구독자가 요청(request)한 만큼씩 driver 에서 읽어옴
+    public Flux<LectureResDto> findResDtosAfter(int afterId, long limit) {
+        return databaseClient.sql(RES_DTO_SELECT + " where l.id > :afterId order by l.id limit :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(LectureReactiveRepository::toResDto)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from lectures")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static LectureResDto toResDto(Row row, RowMetadata metadata) {
+        return new LectureResDto(
+                row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("begin_enrollment_date_time", LocalDateTime.class),
+                row.get("close_enrollment_date_time", LocalDateTime.class),
+                row.get("begin_lecture_date_time", LocalDateTime.class),
+                row.get("end_lecture_date_time", LocalDateTime.class),
+                row.get("location", String.class),
+                row.get("base_price", Integer.class),
+                row.get("max_price", Integer.class),
+                row.get("limit_of_enrollment", Integer.class),
+                row.get("offline", Boolean.class),
+                row.get("free", Boolean.class),
+                row.get("email", String.class),
+                row.get("version", Long.class),
+                row.get("modified_at", LocalDateTime.class));
+    }
+}
@@ -1,10 +1,112 @@
 package com.boot3.myrestapi.lectures.models;
 
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.search.LectureText;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface LectureRepository extends JpaRepository<Lecture, Integer> {
+public interface LectureRepository extends JpaRepository<Lecture, Integer>, JpaSpecificationExecutor<Lecture>,
+        LectureRepositoryCustom {
+    //LectureResDto 의 컬럼과 등록한 User 의 email 만 한번의 SQL 로 조회 (UserInfo 전체를 로딩하지 않음)
+    String RES_DTO_SELECT = "select new com.boot3.myrestapi.lectures.dto.LectureResDto("
+            + "l.id, l.name, l.description, l.beginEnrollmentDateTime, l.closeEnrollmentDateTime, "
+            + "l.beginLectureDateTime, l.endLectureDateTime, l.location, l.basePrice, l.maxPrice, "
+            + "l.limitOfEnrollment, l.offline, l.free, u.email, l.version, l.modifiedAt) "
+            + "from Lecture l left join l.userInfo u";
+
     Optional<Lecture> findByName(String name);
 
-}
\ No newline at end of file
+    @Query(value = RES_DTO_SELECT, countQuery = "select count(l) from Lecture l")
+    Page<LectureResDto> findAllResDto(Pageable pageable);
+
+    //keyset 페이징 : (beginLectureDateTime, id) 순서로 cursor 다음 행부터 조회 (count 쿼리 없음)
+    @Query(RES_DTO_SELECT + " order by l.beginLectureDateTime, l.id")
+    List<LectureResDto> findFirstResDtos(Pageable pageable);
+
+    @Query(RES_DTO_SELECT
+            + " where l.beginLectureDateTime > :beginLectureDateTime"
+            + " or (l.beginLectureDateTime = :beginLectureDateTime and l.id > :id)"
+            + " order by l.beginLectureDateTime, l.id")
+    List<LectureResDto> findResDtosAfter(LocalDateTime beginLectureDateTime, Integer id, Pageable pageable);
+
+    @Query(RES_DTO_SELECT + " where l.id = :id")
+    Optional<LectureResDto> findResDtoById(Integer id);
+
+    //검색 결과의 등록한 User 를 함께 조회 (N+1 방지)
+    @Override
+    @EntityGraph(attributePaths = "userInfo")
+    Page<Lecture> findAll(Specification<Lecture> spec, Pageable pageable);
+
+    //LectureTextIndex 색인용 (id 순서로 나누어 조회)
+    @Query("select new com.boot3.myrestapi.lectures.search.LectureText(l.id, l.name, l.description) "
+            + "from Lecture l where l.id > :id order by l.id")
+    List<LectureText> findTextsAfter(Integer id, Pageable pageable);
+
+    @Query(RES_DTO_SELECT + " where l.id in :ids")
+    List<LectureResDto> findResDtosByIdIn(Collection<Integer> ids);
+
+    //수강 신청 좌석 수 계산용
+    @Query("select l.limitOfEnrollment from Lecture l where l.id = :id")
+    Optional<Integer> findLimitOfEnrollmentById(Integer id);
+
+    @Query("select new com.boot3.myrestapi.lectures.models.LectureCapacity(l.limitOfEnrollment, l.lectureStatus) "
+            + "from Lecture l where l.id = :id")
+    Optional<LectureCapacity> findCapacityById(Integer id);
+
+    /*
+        상태 전이(LectureStatusScheduler) : (lectureStatus, 시각) 인덱스의 범위 조회/수정
+        bulk update 는 @Version, @UpdateTimestamp 를 거치지 않으므로 version 과 modifiedAt 을 직접 갱신 (ETag 변경)
+     */
+    @Query("select new com.boot3.myrestapi.lectures.models.LectureDeadline(l.id, l.beginEnrollmentDateTime) "
+            + "from Lecture l where l.lectureStatus in :statuses "
+            + "and l.beginEnrollmentDateTime > :from and l.beginEnrollmentDateTime <= :until")
+    List<LectureDeadline> findBeginEnrollmentDeadlines(Collection<LectureStatus> statuses,
+                                                       LocalDateTime from, LocalDateTime until);
+
+    @Query("select new com.boot3.myrestapi.lectures.models.LectureDeadline(l.id, l.closeEnrollmentDateTime) "
+            + "from Lecture l where l.lectureStatus in :statuses "
+            + "and l.closeEnrollmentDateTime > :from and l.closeEnrollmentDateTime <= :until")
+    List<LectureDeadline> findCloseEnrollmentDeadlines(Collection<LectureStatus> statuses,
+                                                       LocalDateTime from, LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("update Lecture l set l.lectureStatus = :to, l.version = l.version + 1, l.modifiedAt = :now "
+            + "where l.lectureStatus = :from and l.beginEnrollmentDateTime <= :now")
+    int updateStatusByBeginEnrollment(LectureStatus from, LectureStatus to, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update Lecture l set l.lectureStatus = :to, l.version = l.version + 1, l.modifiedAt = :now "
+            + "where l.lectureStatus = :from and l.closeEnrollmentDateTime <= :now")
+    int updateStatusByCloseEnrollment(LectureStatus from, LectureStatus to, LocalDateTime now);
+
+    //예정 시각 이후에 수정된 Lecture 는 조건(상태, 시각)에 맞지 않아 제외됨
+    @Transactional
+    @Modifying
+    @Query("update Lecture l set l.lectureStatus = :to, l.version = l.version + 1, l.modifiedAt = :now "
+            + "where l.id in :ids and l.lectureStatus = :from and l.beginEnrollmentDateTime <= :now")
+    int updateStatusByBeginEnrollment(Collection<Integer> ids, LectureStatus from, LectureStatus to, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update Lecture l set l.lectureStatus = :to, l.version = l.version + 1, l.modifiedAt = :now "
+            + "where l.id in :ids and l.lectureStatus = :from and l.closeEnrollmentDateTime <= :now")
+    int updateStatusByCloseEnrollment(Collection<Integer> ids, LectureStatus from, LectureStatus to, LocalDateTime now);
+
+    //수정할 때는 Entity 와 등록한 User 를 fetch join 으로 함께 조회
+    @Query("select l from Lecture l left join fetch l.userInfo where l.id = :id")
+    Optional<Lecture> findWithUserInfoById(Integer id);
+}
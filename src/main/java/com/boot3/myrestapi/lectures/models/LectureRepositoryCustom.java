@@ -0,0 +1,22 @@
+package com.boot3.myrestapi.lectures.models;
+
+import com.boot3.myrestapi.lectures.dto.LectureFields;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+//Spring Data 의 query method 로 만들 수 없는 조회 (LectureRepositoryImpl 에서 구현)
+public interface LectureRepositoryCustom {
+    //조건에 맞는 LectureResDto 를 id 순서로 한건씩 읽어오는 Stream (transaction 안에서 사용하고 반드시 close)
+    Stream<LectureResDto> streamResDtos(Specification<Lecture> spec, int fetchSize);
+
+    //fields 에 포함된 컬럼만 조회 (Tuple 의 alias 는 property 이름)
+    Page<Tuple> findTuples(LectureFields fields, Pageable pageable);
+
+    Optional<Tuple> findTupleById(Integer id, LectureFields fields);
+}
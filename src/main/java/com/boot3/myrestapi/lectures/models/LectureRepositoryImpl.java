@@ -0,0 +1,111 @@
+package com.boot3.myrestapi.lectures.models;
+
+import com.boot3.myrestapi.lectures.dto.LectureFields;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class LectureRepositoryImpl implements LectureRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<LectureResDto> streamResDtos(Specification<Lecture> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LectureResDto> query = cb.createQuery(LectureResDto.class);
+        Root<Lecture> root = query.from(Lecture.class);
+        Join<Lecture, UserInfo> userInfo = root.join("userInfo", JoinType.LEFT);
+        //LectureRepository.RES_DTO_SELECT 와 같은 컬럼
+        query.select(cb.construct(LectureResDto.class,
+                root.get("id"), root.get("name"), root.get("description"),
+                root.get("beginEnrollmentDateTime"), root.get("closeEnrollmentDateTime"),
+                root.get("beginLectureDateTime"), root.get("endLectureDateTime"),
+                root.get("location"), root.get("basePrice"), root.get("maxPrice"),
+                root.get("limitOfEnrollment"), root.get("offline"), root.get("free"),
+                userInfo.get("email"), root.get("version"), root.get("modifiedAt")));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        //DTO 는 영속성 컨텍스트에 쌓이지 않고, fetchSize 만큼씩 DB cursor 에서 읽어옴
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Page<Tuple> findTuples(LectureFields fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Lecture> root = query.from(Lecture.class);
+        query.multiselect(selections(fields, root));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        //마지막 페이지처럼 전체 건수를 알 수 있으면 count 쿼리는 실행하지 않음
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, this::countLectures);
+    }
+
+    @Override
+    public Optional<Tuple> findTupleById(Integer id, LectureFields fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Lecture> root = query.from(Lecture.class);
+        query.multiselect(selections(fields, root));
+        query.where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    //email 을 요청한 경우에만 UserInfo 를 left join
+    private static List<Selection<?>> selections(LectureFields fields, Root<Lecture> root) {
+        List<Selection<?>> selections = new ArrayList<>(fields.names().size());
+        for (String name : fields.names()) {
+            if (LectureFields.EMAIL.equals(name)) {
+                selections.add(root.join("userInfo", JoinType.LEFT).get(name).alias(name));
+            } else {
+                selections.add(root.get(name).alias(name));
+            }
+        }
+        return selections;
+    }
+
+    //count() 라는 이름이면 Spring Data 가 CrudRepository.count() 의 구현으로 선택하므로 다른 이름 사용
+    private long countLectures() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(Lecture.class)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
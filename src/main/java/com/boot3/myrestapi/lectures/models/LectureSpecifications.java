@@ -0,0 +1,78 @@
+package com.boot3.myrestapi.lectures.models;
+
+import com.boot3.myrestapi.lectures.dto.LectureSearchCriteria;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    LectureSearchCriteria => Specification<Lecture> 변환
+    predicate 는 Lecture 에 선언한 복합 인덱스의 컬럼 순서(상태 → 날짜, 등록자 → 날짜, 가격)를 따라 추가함
+ */
+public final class LectureSpecifications {
+    private LectureSpecifications() {
+    }
+
+    public static Specification<Lecture> of(LectureSearchCriteria criteria, UserInfo currentUser) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            //idx_lectures_owner_begin_lecture (user_info_id, beginLectureDateTime)
+            if (criteria.isMine() && currentUser != null) {
+                predicates.add(cb.equal(root.get("userInfo").get("id"), currentUser.getId()));
+            } else if (hasText(criteria.getOwner())) {
+                predicates.add(cb.equal(root.join("userInfo").get("email"), criteria.getOwner()));
+            }
+
+            //idx_lectures_status_begin_enrollment, idx_lectures_status_begin_lecture
+            if (criteria.getStatus() != null) {
+                predicates.add(cb.equal(root.get("lectureStatus"), criteria.getStatus()));
+            }
+            if (criteria.getEnrollmentFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("beginEnrollmentDateTime"), criteria.getEnrollmentFrom()));
+            }
+            if (criteria.getEnrollmentTo() != null) {
+                predicates.add(cb.lessThan(root.get("beginEnrollmentDateTime"), criteria.getEnrollmentTo()));
+            }
+            if (criteria.getLectureFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("beginLectureDateTime"), criteria.getLectureFrom()));
+            }
+            if (criteria.getLectureTo() != null) {
+                predicates.add(cb.lessThan(root.get("beginLectureDateTime"), criteria.getLectureTo()));
+            }
+
+            //idx_lectures_price (basePrice, maxPrice)
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("basePrice"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("maxPrice"), criteria.getMaxPrice()));
+            }
+
+            //idx_lectures_location
+            if (hasText(criteria.getLocation())) {
+                predicates.add(cb.like(root.get("location"), escapeLike(criteria.getLocation()) + "%", '\\'));
+            }
+
+            //선택도가 낮은 boolean 컬럼은 인덱스 없이 filter 로만 사용
+            if (criteria.getFree() != null) {
+                predicates.add(cb.equal(root.get("free"), criteria.getFree()));
+            }
+            if (criteria.getOffline() != null) {
+                predicates.add(cb.equal(root.get("offline"), criteria.getOffline()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
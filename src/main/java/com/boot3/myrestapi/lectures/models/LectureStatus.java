@@ -1,5 +1,5 @@
 package com.boot3.myrestapi.lectures.models;
 
 public enum LectureStatus {
-    DRAFT, PUBLISHED, BEGAN_ENROLLMENT
-}
\ No newline at end of file
+    DRAFT, PUBLISHED, BEGAN_ENROLLMENT, CLOSED_ENROLLMENT
+}
@@ -0,0 +1,32 @@
+package com.boot3.myrestapi.lectures.models;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/*
+    시각이 되면 자동으로 바뀌는 Lecture 상태
+    PUBLISHED -> BEGAN_ENROLLMENT (beginEnrollmentDateTime), BEGAN_ENROLLMENT -> CLOSED_ENROLLMENT (closeEnrollmentDateTime)
+    pending : 이 전이를 앞으로 거치게 될 상태 (PUBLISHED 인 Lecture 도 마감 시각을 미리 등록해 둠)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LectureTransition {
+    BEGIN_ENROLLMENT(LectureStatus.PUBLISHED, LectureStatus.BEGAN_ENROLLMENT,
+            EnumSet.of(LectureStatus.PUBLISHED), Lecture::getBeginEnrollmentDateTime),
+    CLOSE_ENROLLMENT(LectureStatus.BEGAN_ENROLLMENT, LectureStatus.CLOSED_ENROLLMENT,
+            EnumSet.of(LectureStatus.PUBLISHED, LectureStatus.BEGAN_ENROLLMENT), Lecture::getCloseEnrollmentDateTime);
+
+    private final LectureStatus from;
+    private final LectureStatus to;
+    private final Set<LectureStatus> pending;
+    private final Function<Lecture, LocalDateTime> deadline;
+
+    public LocalDateTime deadlineOf(Lecture lecture) {
+        return deadline.apply(lecture);
+    }
+}
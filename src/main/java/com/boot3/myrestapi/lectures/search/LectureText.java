@@ -0,0 +1,10 @@
+package com.boot3.myrestapi.lectures.search;
+
+import com.boot3.myrestapi.lectures.models.Lecture;
+
+//LectureTextIndex 에 색인하는 Lecture 의 컬럼
+public record LectureText(Integer id, String name, String description) {
+    public static LectureText of(Lecture lecture) {
+        return new LectureText(lecture.getId(), lecture.getName(), lecture.getDescription());
+    }
+}
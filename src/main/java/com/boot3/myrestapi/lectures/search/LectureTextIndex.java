@@ -0,0 +1,262 @@
+package com.boot3.myrestapi.lectures.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Lecture name, description 의 in-memory 역색인 (term => lectureId => 가중치)
+    - 토큰 : 소문자로 변환 후 문자/숫자가 아닌 문자로 분리
+    - 검색어의 모든 토큰을 포함하는 Lecture 만 결과에 포함(AND), MIN_PREFIX_LENGTH 이상인 토큰은 prefix 로도 일치
+    - 점수 : name 일치 3, description 일치 1, 정확히 일치하면 prefix 일치의 2배
+    - 결과는 점수 순서로 상위 limit 개만 (크기 limit 의 heap 으로 선택) 과 일치한 전체 건수
+    시작할 때 LectureTextIndexLoader 가 전체를 색인하고, 이후 Lecture 를 저장할 때마다 index() 를 호출한다.
+    전체 재색인은 새 Postings 를 따로 만든 후 한번에 교체하므로 그동안의 검색은 이전 색인 전체를 본다.
+ */
+@Component
+public class LectureTextIndex {
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_FACTOR = 2;
+    //이보다 짧은 토큰은 정확히 일치하는 term 만 찾음 (한 글자 prefix 는 대부분의 term 과 일치)
+    static final int MIN_PREFIX_LENGTH = 2;
+    //점수가 높은 순서, 같으면 id 순서
+    private static final Comparator<Map.Entry<Integer, Integer>> RANKING =
+            Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey());
+
+    //current, building, changedWhileBuilding 은 lock 으로 보호
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings current = new Postings();
+    //재색인 중인 새 색인 (재색인 중이 아니면 null)
+    private Postings building;
+    //재색인 중에 index()/remove() 된 lectureId : 재색인이 DB 에서 읽은 이전 값으로 덮어쓰지 않도록 건너뜀
+    private Set<Integer> changedWhileBuilding;
+
+    public void index(LectureText lectureText) {
+        Map<String, Integer> weights = weightsOf(lectureText);
+
+        lock.writeLock().lock();
+        try {
+            current.put(lectureText.id(), weights);
+            if (building != null) {
+                building.put(lectureText.id(), weights);
+                changedWhileBuilding.add(lectureText.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer lectureId) {
+        lock.writeLock().lock();
+        try {
+            current.remove(lectureId);
+            if (building != null) {
+                building.remove(lectureId);
+                changedWhileBuilding.add(lectureId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //전체 재색인 시작 : Rebuild.index() 로 새 색인을 채운 후 swap() 으로 교체 (이전 재색인이 진행 중이면 그 결과는 버려짐)
+    public Rebuild beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            building = new Postings();
+            changedWhileBuilding = new HashSet<>();
+            return new Rebuild(building);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.termsByLecture.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //점수가 높은 순서(같으면 id 순서)로 상위 limit 개의 lectureId 와 일치한 전체 건수
+    public Hits search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        Map<Integer, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String queryTerm : new HashSet<>(queryTerms)) {
+                Map<Integer, Integer> termScores = new HashMap<>();
+                //queryTerm 으로 시작하는 term 범위 : [queryTerm, queryTerm + Character.MAX_VALUE)
+                NavigableMap<String, Map<Integer, Integer>> matches = queryTerm.length() < MIN_PREFIX_LENGTH
+                        ? current.postings.subMap(queryTerm, true, queryTerm, true)
+                        : current.postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+                for (Map.Entry<String, Map<Integer, Integer>> entry : matches.entrySet()) {
+                    int factor = entry.getKey().equals(queryTerm) ? EXACT_MATCH_FACTOR : 1;
+                    entry.getValue().forEach((id, weight) -> termScores.merge(id, weight * factor, Integer::sum));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    Map<Integer, Integer> current = scores;
+                    termScores.forEach((id, score) -> current.computeIfPresent(id, (key, value) -> value + score));
+                }
+                if (scores.isEmpty()) {
+                    return Hits.EMPTY;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Hits(top(scores, limit), scores.size());
+    }
+
+    //head 가 가장 낮은 순위인 크기 limit 의 heap 으로 상위 limit 개를 골라 순위 순서로 반환
+    private static List<Integer> top(Map<Integer, Integer> scores, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<Map.Entry<Integer, Integer>> heap = new PriorityQueue<>(
+                Math.min(limit, scores.size()), RANKING.reversed());
+        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (RANKING.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        Integer[] lectureIds = new Integer[heap.size()];
+        for (int i = lectureIds.length - 1; i >= 0; i--) {
+            lectureIds[i] = heap.poll().getKey();
+        }
+        return Arrays.asList(lectureIds);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> weightsOf(LectureText lectureText) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(lectureText.name()).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(lectureText.description()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        return weights;
+    }
+
+    //검색 결과 : 상위 lectureId 목록과 일치한 전체 건수
+    public record Hits(List<Integer> lectureIds, int total) {
+        static final Hits EMPTY = new Hits(Collections.emptyList(), 0);
+    }
+
+    public final class Rebuild {
+        private final Postings target;
+
+        private Rebuild(Postings target) {
+            this.target = target;
+        }
+
+        public void index(LectureText lectureText) {
+            Map<String, Integer> weights = weightsOf(lectureText);
+            lock.writeLock().lock();
+            try {
+                if (building == target && !changedWhileBuilding.contains(lectureText.id())) {
+                    target.put(lectureText.id(), weights);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        //새 색인으로 교체, 그 사이 다른 재색인이 시작되었으면 false
+        public boolean swap() {
+            lock.writeLock().lock();
+            try {
+                if (building != target) {
+                    return false;
+                }
+                current = target;
+                building = null;
+                changedWhileBuilding = null;
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        //실패한 재색인 정리 (이전 색인을 계속 사용)
+        public void cancel() {
+            lock.writeLock().lock();
+            try {
+                if (building == target) {
+                    building = null;
+                    changedWhileBuilding = null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    //term => lectureId => 가중치, 호출하는 쪽에서 writeLock 을 잡음
+    private static final class Postings {
+        private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+        private final Map<Integer, Set<String>> termsByLecture = new HashMap<>();
+
+        void put(Integer lectureId, Map<String, Integer> weights) {
+            remove(lectureId);
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>(4)).put(lectureId, weight));
+            termsByLecture.put(lectureId, Set.copyOf(weights.keySet()));
+        }
+
+        void remove(Integer lectureId) {
+            Set<String> terms = termsByLecture.remove(lectureId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Integer, Integer> lectureIds = postings.get(term);
+                lectureIds.remove(lectureId);
+                if (lectureIds.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
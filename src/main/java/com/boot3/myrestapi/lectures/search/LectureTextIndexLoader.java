@@ -0,0 +1,52 @@
+package com.boot3.myrestapi.lectures.search;
+
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+    애플리케이션이 시작되면(ApplicationRunner 실행 후) lectures 테이블 전체를 LectureTextIndex 에 색인
+    Entity 대신 id, name, description 만 id 순서로 나누어 조회한다.
+    새 색인을 따로 채운 후 교체하므로 재색인하는 동안 검색 결과가 비거나 일부만 보이지 않음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LectureTextIndexLoader {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final LectureRepository lectureRepository;
+    private final LectureTextIndex lectureTextIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LectureTextIndex.Rebuild rebuild = lectureTextIndex.beginRebuild();
+        try {
+            Integer lastId = 0;
+            List<LectureText> chunk;
+            do {
+                chunk = lectureRepository.findTextsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+                chunk.forEach(rebuild::index);
+                if (!chunk.isEmpty()) {
+                    lastId = chunk.get(chunk.size() - 1).id();
+                }
+            } while (chunk.size() == CHUNK_SIZE);
+        } catch (RuntimeException e) {
+            rebuild.cancel();
+            throw e;
+        }
+        if (!rebuild.swap()) {
+            log.info("LectureTextIndex : superseded by a newer rebuild");
+            return;
+        }
+        log.info("LectureTextIndex : {} lectures indexed in {} ms",
+                lectureTextIndex.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,101 @@
+package com.boot3.myrestapi.lectures.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/*
+    Lecture 별 남은 좌석 수 (메모리)
+    좌석을 얻는 요청끼리 DB row lock 으로 줄을 서지 않도록 AtomicInteger 의 CAS 로 차감하고,
+    처음 사용할 때 enrollments 원장(limitOfEnrollment - ENROLLED 건수)에서 읽어옴
+    남은 좌석 중 취소나 정원 증가로 되돌아온 좌석 수는 따로 세어, 그 좌석만 대기자에게 먼저 넘김
+    하나의 애플리케이션 인스턴스가 Lecture 의 좌석을 관리한다는 전제
+ */
+@Component
+public class EnrollmentSeats {
+    private final Map<Integer, Seats> seatsByLecture = new ConcurrentHashMap<>();
+
+    //좌석이 남아 있으면 하나 차감하고 true
+    public boolean tryAcquire(Integer lectureId, IntSupplier loader) {
+        Seats seats = seatsByLecture.get(lectureId);
+        if (seats == null) {
+            //원장 조회는 map 의 lock 밖에서 하고, 동시에 읽어온 값 중 먼저 넣은 값을 사용
+            Seats loaded = new Seats(loader.getAsInt());
+            seats = seatsByLecture.putIfAbsent(lectureId, loaded);
+            if (seats == null) {
+                seats = loaded;
+            }
+        }
+        return decrement(seats.remaining);
+    }
+
+    //이미 원장에서 읽어온 Lecture 만 차감 (읽어오지 않았으면 false)
+    public boolean tryAcquire(Integer lectureId) {
+        Seats seats = seatsByLecture.get(lectureId);
+        return seats != null && decrement(seats.remaining);
+    }
+
+    //차감한 좌석이 되돌아온 좌석이면 true (되돌아온 좌석 수를 하나 줄임)
+    public boolean takeReturned(Integer lectureId) {
+        Seats seats = seatsByLecture.get(lectureId);
+        return seats != null && decrement(seats.returned);
+    }
+
+    //차감한 좌석을 그대로 되돌림 (신청이 rollback 된 경우)
+    public void release(Integer lectureId) {
+        adjust(lectureId, 1);
+    }
+
+    //취소나 정원 증가로 좌석이 되돌아옴, 대기자에게 먼저 넘길 좌석으로 셈
+    public void returnSeats(Integer lectureId, int count) {
+        Seats seats = seatsByLecture.get(lectureId);
+        if (seats != null) {
+            seats.remaining.addAndGet(count);
+            seats.returned.addAndGet(count);
+        }
+    }
+
+    //takeReturned 로 가져간 표시를 좌석 없이 되돌림
+    public void keepReturned(Integer lectureId) {
+        Seats seats = seatsByLecture.get(lectureId);
+        if (seats != null) {
+            seats.returned.incrementAndGet();
+        }
+    }
+
+    //limitOfEnrollment 변경, 아직 읽어오지 않은 Lecture 는 다음 사용시 원장에서 읽음
+    public void adjust(Integer lectureId, int delta) {
+        Seats seats = seatsByLecture.get(lectureId);
+        if (seats != null) {
+            seats.remaining.addAndGet(delta);
+        }
+    }
+
+    public int remaining(Integer lectureId) {
+        Seats seats = seatsByLecture.get(lectureId);
+        return seats == null ? -1 : seats.remaining.get();
+    }
+
+    private static boolean decrement(AtomicInteger counter) {
+        int current;
+        do {
+            current = counter.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private static class Seats {
+        private final AtomicInteger remaining;
+        private final AtomicInteger returned = new AtomicInteger();
+
+        private Seats(int remaining) {
+            this.remaining = new AtomicInteger(remaining);
+        }
+    }
+}
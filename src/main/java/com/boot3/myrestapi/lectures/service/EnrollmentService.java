@@ -0,0 +1,247 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.EnrollmentResDto;
+import com.boot3.myrestapi.lectures.models.Enrollment;
+import com.boot3.myrestapi.lectures.models.EnrollmentRepository;
+import com.boot3.myrestapi.lectures.models.EnrollmentStatus;
+import com.boot3.myrestapi.lectures.models.LectureCapacity;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.models.LectureStatus;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/*
+    수강 신청 / 취소
+    - 좌석은 EnrollmentSeats(메모리 카운터)에서 먼저 차감하고 enrollments 원장에 저장, 저장이 rollback 되면 좌석을 되돌림
+    - 수강 신청 기간(BEGAN_ENROLLMENT)인 Lecture 만 신청 가능
+    - 좌석이 없으면 대기자(WAITLISTED)로 저장
+    - 신청자가 취소하면 좌석은 가장 먼저 대기한 신청에게 넘어가고, 대기자가 없으면 commit 후 좌석 수를 되돌림
+    - 취소하는 transaction 에서 아직 commit 되지 않은 대기 신청은 보이지 않으므로
+      좌석을 되돌린 후와 대기자로 저장한 후(commit 후)에 되돌아온 좌석을 다시 대기자에게 넘기고,
+      새로 신청할 때 얻은 좌석이 되돌아온 좌석이면 대기자가 있는 경우 대기자에게 넘김
+      (처음부터 남아 있던 좌석은 새 신청이 사용)
+    - 정원 변경은 commit 된 후에 좌석 수에 반영하고, 늘어난 좌석은 되돌아온 좌석으로 대기자에게 넘김
+    - 상태 변경은 "현재 상태가 예상한 값일 때만" update 하므로 같은 신청을 동시에 변경해도 좌석이 두번 반환되지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EnrollmentService {
+    private final EnrollmentRepository enrollmentRepository;
+    private final LectureRepository lectureRepository;
+    private final UserInfoRepository userInfoRepository;
+    private final EnrollmentSeats enrollmentSeats;
+    private final PlatformTransactionManager transactionManager;
+
+    @Transactional
+    public EnrollmentResDto enroll(Integer lectureId, UserInfo currentUser) {
+        LectureCapacity capacity = lectureRepository.findCapacityById(lectureId)
+                .orElseThrow(() -> lectureNotFound(lectureId));
+        if (capacity.lectureStatus() != LectureStatus.BEGAN_ENROLLMENT) {
+            throw new BusinessException(String.format("Lecture Id = %d is not open for enrollment (%s)",
+                    lectureId, capacity.lectureStatus()), HttpStatus.CONFLICT);
+        }
+        Optional<Enrollment> existing = enrollmentRepository.findByLectureIdAndUserInfoId(lectureId, currentUser.getId());
+        if (existing.isPresent()) {
+            if (existing.get().getStatus() != EnrollmentStatus.CANCELLED) {
+                throw alreadyEnrolled(lectureId);
+            }
+            //취소했던 신청은 지우고 새로 신청 (대기 순서는 맨 뒤)
+            enrollmentRepository.delete(existing.get());
+            enrollmentRepository.flush();
+        }
+
+        boolean seated = enrollmentSeats.tryAcquire(lectureId, () -> capacity.limitOfEnrollment()
+                - (int) enrollmentRepository.countByLectureIdAndStatus(lectureId, EnrollmentStatus.ENROLLED));
+        if (seated) {
+            boolean returnedSeat = enrollmentSeats.takeReturned(lectureId);
+            releaseSeatUnlessCommitted(lectureId, returnedSeat);
+            //되돌아온 좌석이면 먼저 대기한 신청에게 넘기고 새 신청은 대기
+            if (returnedSeat) {
+                seated = !promoteFirstWaitlisted(lectureId);
+            }
+        }
+        if (!seated) {
+            //대기자로 저장하는 동안 취소로 되돌려진 좌석이 있으면 commit 후 대기자에게 넘김
+            passSeatsAfterCommit(lectureId, 0);
+        }
+        Enrollment enrollment = Enrollment.builder()
+                .lecture(lectureRepository.getReferenceById(lectureId))
+                .userInfo(userInfoRepository.getReferenceById(currentUser.getId()))
+                .status(seated ? EnrollmentStatus.ENROLLED : EnrollmentStatus.WAITLISTED)
+                .build();
+        try {
+            //unique 제약 위반(같은 User 의 동시 신청)을 여기서 확인
+            enrollmentRepository.saveAndFlush(enrollment);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyEnrolled(lectureId);
+        }
+        return toResDto(enrollment, lectureId, currentUser.getEmail());
+    }
+
+    @Transactional
+    public EnrollmentResDto cancel(Integer lectureId, UserInfo currentUser) {
+        Enrollment enrollment = enrollmentRepository.findByLectureIdAndUserInfoId(lectureId, currentUser.getId())
+                .filter(found -> found.getStatus() != EnrollmentStatus.CANCELLED)
+                .orElseThrow(() -> enrollmentNotFound(lectureId));
+        EnrollmentStatus previous = enrollment.getStatus();
+        if (enrollmentRepository.updateStatus(enrollment.getId(), previous, EnrollmentStatus.CANCELLED) == 0) {
+            throw new BusinessException(String.format("Lecture Id = %d enrollment was changed by another request",
+                    lectureId), HttpStatus.CONFLICT);
+        }
+        if (previous == EnrollmentStatus.ENROLLED) {
+            passSeat(lectureId);
+        }
+        enrollment.setStatus(EnrollmentStatus.CANCELLED);
+        return toResDto(enrollment, lectureId, currentUser.getEmail());
+    }
+
+    //limitOfEnrollment 변경이 commit 되면 남은 좌석 수를 조정하고, 늘어난 좌석은 대기자에게 넘김
+    @Transactional
+    public void changeLimit(Integer lectureId, int previousLimit, int newLimit) {
+        int delta = newLimit - previousLimit;
+        if (delta > 0) {
+            passSeatsAfterCommit(lectureId, delta);
+        } else if (delta < 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enrollmentSeats.adjust(lectureId, delta);
+                }
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public EnrollmentResDto getEnrollment(Integer lectureId, UserInfo currentUser) {
+        Enrollment enrollment = enrollmentRepository.findByLectureIdAndUserInfoId(lectureId, currentUser.getId())
+                .orElseThrow(() -> enrollmentNotFound(lectureId));
+        return toResDto(enrollment, lectureId, currentUser.getEmail());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<EnrollmentResDto> getEnrollments(Integer lectureId, Pageable pageable) {
+        if (lectureRepository.findLimitOfEnrollmentById(lectureId).isEmpty()) {
+            throw lectureNotFound(lectureId);
+        }
+        return enrollmentRepository.findResDtosByLectureId(lectureId, pageable);
+    }
+
+    //빈 좌석을 가장 먼저 대기한 신청에게 넘기고, 대기자가 없으면 commit 후 좌석 수를 되돌림
+    private void passSeat(Integer lectureId) {
+        if (!promoteFirstWaitlisted(lectureId)) {
+            passSeatsAfterCommit(lectureId, 1);
+        }
+    }
+
+    //commit 후 좌석 returned 개를 되돌리고, 되돌아온 좌석을 그 사이에 commit 된 대기자에게 넘김
+    private void passSeatsAfterCommit(Integer lectureId, int returned) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (returned > 0) {
+                    enrollmentSeats.returnSeats(lectureId, returned);
+                }
+                passReturnedSeats(lectureId);
+            }
+        });
+    }
+
+    //원래 transaction 은 이미 commit 되었으므로 대기자 변경은 새 transaction 에서 실행
+    private void passReturnedSeats(Integer lectureId) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        while (enrollmentSeats.takeReturned(lectureId)) {
+            //되돌아온 좌석을 이미 새 신청이 차감했으면 그 신청이 대기자에게 넘김
+            if (!enrollmentSeats.tryAcquire(lectureId)) {
+                enrollmentSeats.keepReturned(lectureId);
+                return;
+            }
+            boolean promoted;
+            try {
+                promoted = Boolean.TRUE.equals(requiresNew.execute(status -> promoteFirstWaitlisted(lectureId)));
+            } catch (RuntimeException e) {
+                //신청/취소는 이미 commit 되었으므로 실패를 응답으로 돌려주지 않음 (다음 취소/신청에서 다시 넘김)
+                enrollmentSeats.returnSeats(lectureId, 1);
+                log.warn("Lecture Id = {} : failed to pass a returned seat to the waitlist", lectureId, e);
+                return;
+            }
+            if (!promoted) {
+                enrollmentSeats.returnSeats(lectureId, 1);
+                return;
+            }
+        }
+    }
+
+    /*
+        대기 순서대로 WAITLISTED -> ENROLLED 변경을 시도, 다른 요청이 먼저 변경한 신청은 건너뜀
+        (조회가 이전 snapshot 을 보더라도 id 가 증가하는 방향으로만 찾으므로 반복이 끝남)
+     */
+    private boolean promoteFirstWaitlisted(Integer lectureId) {
+        Long afterId = 0L;
+        while (true) {
+            Optional<Enrollment> first = enrollmentRepository.findFirstByLectureIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                    lectureId, EnrollmentStatus.WAITLISTED, afterId);
+            if (first.isEmpty()) {
+                return false;
+            }
+            afterId = first.get().getId();
+            if (enrollmentRepository.updateStatus(afterId, EnrollmentStatus.WAITLISTED, EnrollmentStatus.ENROLLED) == 1) {
+                return true;
+            }
+        }
+    }
+
+    //차감한 좌석은 transaction 이 commit 되지 않으면 되돌림 (되돌아온 좌석이었으면 다시 대기자 몫으로)
+    private void releaseSeatUnlessCommitted(Integer lectureId, boolean returnedSeat) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    if (returnedSeat) {
+                        enrollmentSeats.returnSeats(lectureId, 1);
+                    } else {
+                        enrollmentSeats.release(lectureId);
+                    }
+                }
+            }
+        });
+    }
+
+    private EnrollmentResDto toResDto(Enrollment enrollment, Integer lectureId, String email) {
+        Long waitlistPosition = enrollment.getStatus() == EnrollmentStatus.WAITLISTED
+                ? enrollmentRepository.findWaitlistPosition(lectureId, enrollment.getId())
+                : null;
+        return new EnrollmentResDto(enrollment.getId(), lectureId, email, enrollment.getStatus(),
+                enrollment.getCreatedAt(), waitlistPosition);
+    }
+
+    private static BusinessException lectureNotFound(Integer lectureId) {
+        return new BusinessException(String.format("Id = %d Lecture Not Found", lectureId), HttpStatus.NOT_FOUND);
+    }
+
+    private static BusinessException enrollmentNotFound(Integer lectureId) {
+        return new BusinessException(String.format("Lecture Id = %d Enrollment Not Found", lectureId),
+                HttpStatus.NOT_FOUND);
+    }
+
+    private static BusinessException alreadyEnrolled(Integer lectureId) {
+        return new BusinessException(String.format("Lecture Id = %d already enrolled", lectureId), HttpStatus.CONFLICT);
+    }
+}
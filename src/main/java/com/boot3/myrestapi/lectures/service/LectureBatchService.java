@@ -0,0 +1,95 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.lectures.dto.LectureMapper;
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureImportCheckpoint;
+import com.boot3.myrestapi.lectures.models.LectureImportCheckpointRepository;
+import com.boot3.myrestapi.lectures.validator.LectureValidator;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    여러 Lecture 를 한번에 등록 (POST /api/lectures/batch)
+    chunkSize 건마다 flush/clear 해서 Hibernate JDBC batch insert(hibernate.jdbc.batch_size)로 저장하고
+    영속성 컨텍스트가 커지지 않도록 한다.
+ */
+@Service
+public class LectureBatchService {
+    private final EntityManager entityManager;
+    private final LectureMapper lectureMapper;
+    private final LectureValidator lectureValidator;
+    private final SpringValidatorAdapter beanValidator;
+    private final LectureImportCheckpointRepository checkpointRepository;
+    private final int chunkSize;
+
+    public LectureBatchService(EntityManager entityManager,
+                               LectureMapper lectureMapper,
+                               LectureValidator lectureValidator,
+                               Validator validator,
+                               LectureImportCheckpointRepository checkpointRepository,
+                               @Value("${lectures.batch.chunk-size:50}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.lectureMapper = lectureMapper;
+        this.lectureValidator = lectureValidator;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.checkpointRepository = checkpointRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    //Bean Validation 과 LectureValidator 로 검증, 오류가 없는 항목은 null
+    public List<Errors> validate(List<LectureReqDto> lectureReqDtos) {
+        List<Errors> result = new ArrayList<>(lectureReqDtos.size());
+        for (int i = 0; i < lectureReqDtos.size(); i++) {
+            result.add(validate(lectureReqDtos.get(i), "lectureReqDto[" + i + "]"));
+        }
+        return result;
+    }
+
+    public Errors validate(LectureReqDto lectureReqDto, String objectName) {
+        Errors errors = new BeanPropertyBindingResult(lectureReqDto, objectName);
+        beanValidator.validate(lectureReqDto, errors);
+        //날짜가 null 이면 LectureValidator 에서 NPE 가 발생하므로 Bean Validation 을 통과한 경우에만 검증
+        if (!errors.hasErrors()) {
+            lectureValidator.validate(lectureReqDto, errors);
+        }
+        return errors.hasErrors() ? errors : null;
+    }
+
+    @Transactional
+    public List<Lecture> saveAll(List<LectureReqDto> lectureReqDtos, UserInfo owner) {
+        List<Lecture> saved = new ArrayList<>(lectureReqDtos.size());
+        for (LectureReqDto lectureReqDto : lectureReqDtos) {
+            Lecture lecture = lectureMapper.toEntity(lectureReqDto);
+            lecture.update();
+            lecture.setUserInfo(owner);
+            entityManager.persist(lecture);
+            saved.add(lecture);
+            if (saved.size() % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    //가져오기(importId)의 chunk : Lecture 저장과 처리한 레코드 수(checkpoint)를 같은 transaction 에서 commit
+    @Transactional
+    public List<Lecture> saveAll(List<LectureReqDto> lectureReqDtos, UserInfo owner, String importId, long records) {
+        List<Lecture> saved = saveAll(lectureReqDtos, owner);
+        checkpointRepository.save(LectureImportCheckpoint.builder().importId(importId).records(records).build());
+        return saved;
+    }
+}
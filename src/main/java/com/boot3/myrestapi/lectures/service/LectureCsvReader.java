@@ -0,0 +1,96 @@
+package com.boot3.myrestapi.lectures.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    CSV(RFC 4180)를 한 레코드씩 읽는 reader
+    따옴표 안의 쉼표, 줄바꿈, "" 를 처리하며 파일 전체를 메모리에 올리지 않음
+ */
+class LectureCsvReader {
+    private final Reader reader;
+    private final StringBuilder raw = new StringBuilder();
+    private int lookahead = -2;
+
+    LectureCsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    //다음 레코드의 컬럼 목록, 파일 끝이면 null (빈 줄은 건너뜀)
+    List<String> next() throws IOException {
+        while (true) {
+            raw.setLength(0);
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean quoted = false;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            for (; c != -1; c = read()) {
+                if (inQuotes) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            field.append('"');
+                            read();
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty() && !quoted) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            fields.add(field.toString());
+            if (fields.size() == 1 && fields.get(0).isEmpty() && !quoted) {
+                //빈 줄
+                continue;
+            }
+            return fields;
+        }
+    }
+
+    //마지막으로 읽은 레코드의 원문 (reject 파일에 기록)
+    String raw() {
+        int end = raw.length();
+        while (end > 0 && (raw.charAt(end - 1) == '\n' || raw.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        return raw.substring(0, end);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (lookahead != -2) {
+            c = lookahead;
+            lookahead = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c != -1) {
+            raw.append((char) c);
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (lookahead == -2) {
+            lookahead = reader.read();
+        }
+        return lookahead;
+    }
+}
@@ -0,0 +1,36 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+//GET /api/lectures/export?format= 의 형식
+public enum LectureExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    LectureExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static LectureExportFormat of(String format) {
+        for (LectureExportFormat exportFormat : values()) {
+            if (exportFormat.extension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new BusinessException("지원하지 않는 format 입니다 : " + format, HttpStatus.BAD_REQUEST);
+    }
+}
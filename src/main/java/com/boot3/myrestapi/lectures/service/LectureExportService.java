@@ -0,0 +1,137 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCriteria;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.models.LectureSpecifications;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+    Lecture 목록을 NDJSON / CSV 로 내보내기
+    DB cursor 에서 한건씩 읽어서 바로 OutputStream 에 쓰므로 건수와 관계없이 사용하는 메모리가 일정함
+ */
+@Service
+public class LectureExportService {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String CSV_HEADER = "id,name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,"
+            + "beginLectureDateTime,endLectureDateTime,location,basePrice,maxPrice,limitOfEnrollment,"
+            + "offline,free,email";
+
+    private final LectureRepository lectureRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final int fetchSize;
+
+    public LectureExportService(LectureRepository lectureRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${lectures.export.fetch-size:500}") int fetchSize) {
+        this.lectureRepository = lectureRepository;
+        this.ndjsonWriter = objectMapper.writerFor(LectureResDto.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(LectureSearchCriteria criteria, UserInfo currentUser,
+                       LectureExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<LectureResDto> lectures = lectureRepository.streamResDtos(
+                LectureSpecifications.of(criteria, currentUser), fetchSize)) {
+            switch (format) {
+                case NDJSON -> writeNdjson(lectures.iterator(), outputStream);
+                case CSV -> writeCsv(lectures.iterator(), outputStream);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<LectureResDto> lectures, OutputStream outputStream) throws IOException {
+        boolean empty = !lectures.hasNext();
+        //값 사이에만 구분자("\n")를 쓰므로 마지막 줄바꿈은 직접 씀
+        try (SequenceWriter sequenceWriter = ndjsonWriter.writeValues(outputStream)) {
+            while (lectures.hasNext()) {
+                sequenceWriter.write(lectures.next());
+            }
+        }
+        if (!empty) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+    }
+
+    private void writeCsv(Iterator<LectureResDto> lectures, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (lectures.hasNext()) {
+            LectureResDto lecture = lectures.next();
+            writer.write(String.valueOf(lecture.getId()));
+            writer.write(',');
+            writeCsvText(writer, lecture.getName());
+            writer.write(',');
+            writeCsvText(writer, lecture.getDescription());
+            writer.write(',');
+            writeDateTime(writer, lecture.getBeginEnrollmentDateTime());
+            writer.write(',');
+            writeDateTime(writer, lecture.getCloseEnrollmentDateTime());
+            writer.write(',');
+            writeDateTime(writer, lecture.getBeginLectureDateTime());
+            writer.write(',');
+            writeDateTime(writer, lecture.getEndLectureDateTime());
+            writer.write(',');
+            writeCsvText(writer, lecture.getLocation());
+            writer.write(',');
+            writer.write(Integer.toString(lecture.getBasePrice()));
+            writer.write(',');
+            writer.write(Integer.toString(lecture.getMaxPrice()));
+            writer.write(',');
+            writer.write(Integer.toString(lecture.getLimitOfEnrollment()));
+            writer.write(',');
+            writer.write(Boolean.toString(lecture.isOffline()));
+            writer.write(',');
+            writer.write(Boolean.toString(lecture.isFree()));
+            writer.write(',');
+            writeCsvText(writer, lecture.getEmail());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static void writeDateTime(Writer writer, LocalDateTime dateTime) throws IOException {
+        if (dateTime != null) {
+            DATE_TIME_FORMATTER.formatTo(dateTime, writer);
+        }
+    }
+
+    //쉼표, 따옴표, 줄바꿈이 있으면 "" 로 감싸고 따옴표는 두번 씀 (RFC 4180)
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
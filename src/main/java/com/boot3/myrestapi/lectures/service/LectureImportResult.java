@@ -0,0 +1,6 @@
+package com.boot3.myrestapi.lectures.service;
+
+//Lecture 가져오기 결과 (skipped 는 이전 실행에서 이미 처리되어 건너뛴 레코드 수)
+//reject 파일은 서버 경로 대신 importId 로 내려받음 (GET /api/lectures/import/{importId}/rejects)
+public record LectureImportResult(String importId, long records, long skipped, long saved, long rejected) {
+}
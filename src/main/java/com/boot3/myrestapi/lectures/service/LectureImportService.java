@@ -0,0 +1,314 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureImportCheckpoint;
+import com.boot3.myrestapi.lectures.models.LectureImportCheckpointRepository;
+import com.boot3.myrestapi.lectures.search.LectureText;
+import com.boot3.myrestapi.lectures.search.LectureTextIndex;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.Errors;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    NDJSON / CSV 파일의 Lecture 를 한 레코드씩 읽어서 chunkSize 단위로 저장
+    - 각 레코드는 Bean Validation 과 LectureValidator 로 검증하고, 오류가 있으면 <importId>.rejects.ndjson 에 기록
+    - chunk 마다 별도의 transaction 으로 저장(LectureBatchService.saveAll)하고 같은 transaction 에서
+      처리한 레코드 수를 lecture_import_checkpoints 에 기록, 중단된 후 같은 importId 로 다시 실행하면 checkpoint 다음 레코드부터 처리
+      (reject 는 commit 전에 파일에 쓰므로 commit 전에 중단되면 마지막 chunk 의 reject 가 다시 기록될 수 있음)
+    - 같은 importId 의 가져오기가 실행 중이면 409
+    - 저장한 Lecture 는 검색 인덱스와 상태 전이 스케줄러(LectureStatusScheduler)에 등록
+    - 메모리에는 현재 chunk 만 유지
+ */
+@Service
+@Slf4j
+public class LectureImportService {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final LectureBatchService lectureBatchService;
+    private final LectureImportCheckpointRepository checkpointRepository;
+    private final LectureTextIndex lectureTextIndex;
+    private final LectureStatusScheduler lectureStatusScheduler;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reqDtoReader;
+    private final int chunkSize;
+    //실행 중인 importId
+    private final Set<String> runningImports = ConcurrentHashMap.newKeySet();
+
+    public LectureImportService(LectureBatchService lectureBatchService,
+                                LectureImportCheckpointRepository checkpointRepository,
+                                LectureTextIndex lectureTextIndex,
+                                LectureStatusScheduler lectureStatusScheduler,
+                                ObjectMapper objectMapper,
+                                @Value("${lectures.import.chunk-size:1000}") int chunkSize) {
+        this.lectureBatchService = lectureBatchService;
+        this.checkpointRepository = checkpointRepository;
+        this.lectureTextIndex = lectureTextIndex;
+        this.lectureStatusScheduler = lectureStatusScheduler;
+        this.objectMapper = objectMapper;
+        this.reqDtoReader = objectMapper.readerFor(LectureReqDto.class);
+        this.chunkSize = chunkSize;
+    }
+
+    public LectureImportResult importLectures(Reader input, LectureExportFormat format, UserInfo owner,
+                                              Path workDir, String importId) throws IOException {
+        if (!runningImports.add(importId)) {
+            throw new BusinessException(String.format("importId = %s 가져오기가 이미 실행 중입니다.", importId),
+                    HttpStatus.CONFLICT);
+        }
+        try {
+            return run(input, format, owner, workDir, importId);
+        } finally {
+            runningImports.remove(importId);
+        }
+    }
+
+    public Path rejectFile(Path workDir, String importId) {
+        return workDir.resolve(importId + ".rejects.ndjson");
+    }
+
+    private LectureImportResult run(Reader input, LectureExportFormat format, UserInfo owner,
+                                    Path workDir, String importId) throws IOException {
+        Files.createDirectories(workDir);
+        Path rejectFile = rejectFile(workDir, importId);
+        long checkpoint = checkpointRepository.findById(importId)
+                .map(LectureImportCheckpoint::getRecords)
+                .orElse(0L);
+        if (checkpoint > 0) {
+            log.info("Lecture import {} : resume after record {}", importId, checkpoint);
+        }
+
+        Progress progress = new Progress(importId);
+        List<LectureReqDto> chunk = new ArrayList<>(chunkSize);
+        List<String> chunkRejects = new ArrayList<>();
+        //처음 실행이면 reject 파일을 새로 만들고, 이어서 실행하면 이전 내용 뒤에 추가
+        StandardOpenOption mode = checkpoint > 0 ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (RecordReader records = open(input, format);
+             BufferedWriter rejects = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            ImportRecord record;
+            while ((record = records.next()) != null) {
+                progress.records++;
+                if (progress.records <= checkpoint) {
+                    progress.skipped++;
+                    continue;
+                }
+                String error = record.error();
+                if (error == null) {
+                    Errors errors = lectureBatchService.validate(record.lectureReqDto(), "record[" + progress.records + "]");
+                    error = errors == null ? null : describe(errors);
+                }
+                if (error == null) {
+                    chunk.add(record.lectureReqDto());
+                } else {
+                    chunkRejects.add(rejectLine(progress.records, error, record.raw()));
+                }
+                if (chunk.size() + chunkRejects.size() >= chunkSize) {
+                    commit(chunk, chunkRejects, owner, rejects, progress);
+                }
+            }
+            commit(chunk, chunkRejects, owner, rejects, progress);
+        }
+        //끝까지 처리했으면 checkpoint 제거 (같은 importId 로 다시 실행하면 처음부터)
+        checkpointRepository.deleteById(importId);
+        log.info("Lecture import {} finished : {}", importId, progress);
+        return new LectureImportResult(importId, progress.records, progress.skipped, progress.saved,
+                progress.rejected);
+    }
+
+    private void commit(List<LectureReqDto> chunk, List<String> chunkRejects, UserInfo owner,
+                        BufferedWriter rejects, Progress progress) throws IOException {
+        for (String reject : chunkRejects) {
+            rejects.write(reject);
+            rejects.write('\n');
+        }
+        rejects.flush();
+        for (Lecture lecture : lectureBatchService.saveAll(chunk, owner, progress.importId, progress.records)) {
+            lectureTextIndex.index(LectureText.of(lecture));
+            lectureStatusScheduler.schedule(lecture);
+        }
+        progress.saved += chunk.size();
+        progress.rejected += chunkRejects.size();
+        chunk.clear();
+        chunkRejects.clear();
+        log.info("Lecture import {} : {}", progress.importId, progress);
+    }
+
+    private RecordReader open(Reader input, LectureExportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        return switch (format) {
+            case NDJSON -> new NdjsonRecordReader(reader);
+            case CSV -> new CsvRecordReader(reader);
+        };
+    }
+
+    private static String describe(Errors errors) {
+        List<String> messages = new ArrayList<>();
+        errors.getFieldErrors().forEach(e -> messages.add(e.getField() + " : " + e.getDefaultMessage()));
+        errors.getGlobalErrors().forEach(e -> messages.add(e.getDefaultMessage()));
+        return String.join(", ", messages);
+    }
+
+    private String rejectLine(long recordNumber, String error, String raw) throws IOException {
+        Map<String, Object> reject = new LinkedHashMap<>();
+        reject.put("record", recordNumber);
+        reject.put("error", error);
+        reject.put("raw", raw);
+        return objectMapper.writeValueAsString(reject);
+    }
+
+    //파싱 결과 : lectureReqDto 또는 파싱 오류(error)
+    private record ImportRecord(LectureReqDto lectureReqDto, String error, String raw) {
+    }
+
+    private interface RecordReader extends AutoCloseable {
+        ImportRecord next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+
+        NdjsonRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRecord next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return new ImportRecord(reqDtoReader.readValue(line), null, line);
+            } catch (JsonProcessingException e) {
+                return new ImportRecord(null, "JSON 형식 오류 : " + e.getOriginalMessage(), line);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    //첫 줄은 header (LectureExportService 의 CSV 와 같은 컬럼명, 순서는 무관)
+    private static class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final LectureCsvReader csvReader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvRecordReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            this.csvReader = new LectureCsvReader(reader);
+            List<String> header = csvReader.next();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+        }
+
+        @Override
+        public ImportRecord next() throws IOException {
+            List<String> fields = csvReader.next();
+            if (fields == null) {
+                return null;
+            }
+            try {
+                LectureReqDto lectureReqDto = LectureReqDto.builder()
+                        .name(text(fields, "name"))
+                        .description(text(fields, "description"))
+                        .beginEnrollmentDateTime(dateTime(fields, "beginEnrollmentDateTime"))
+                        .closeEnrollmentDateTime(dateTime(fields, "closeEnrollmentDateTime"))
+                        .beginLectureDateTime(dateTime(fields, "beginLectureDateTime"))
+                        .endLectureDateTime(dateTime(fields, "endLectureDateTime"))
+                        .location(text(fields, "location"))
+                        .basePrice(number(fields, "basePrice"))
+                        .maxPrice(number(fields, "maxPrice"))
+                        .limitOfEnrollment(number(fields, "limitOfEnrollment"))
+                        .build();
+                return new ImportRecord(lectureReqDto, null, csvReader.raw());
+            } catch (RuntimeException e) {
+                return new ImportRecord(null, "CSV 형식 오류 : " + e.getMessage(), csvReader.raw());
+            }
+        }
+
+        private String text(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        private LocalDateTime dateTime(List<String> fields, String column) {
+            String value = text(fields, column);
+            return value == null ? null : LocalDateTime.parse(value.trim(), DATE_TIME_FORMATTER);
+        }
+
+        //값이 없으면 0 으로 저장하지 않고 reject
+        private int number(List<String> fields, String column) {
+            String value = text(fields, column);
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException(column + " 값이 없습니다.");
+            }
+            return Integer.parseInt(value.trim());
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class Progress {
+        private final String importId;
+        private final long startNanos = System.nanoTime();
+        private long records;
+        private long skipped;
+        private long saved;
+        private long rejected;
+
+        Progress(String importId) {
+            this.importId = importId;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = Math.max((System.nanoTime() - startNanos) / 1_000_000_000.0, 0.001);
+            return String.format("%d records (%d skipped, %d saved, %d rejected), %.0f records/sec",
+                    records, skipped, saved, rejected, (records - skipped) / seconds);
+        }
+    }
+}
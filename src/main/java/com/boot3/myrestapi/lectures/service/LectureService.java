@@ -0,0 +1,129 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.LectureCursor;
+import com.boot3.myrestapi.lectures.dto.LectureFields;
+import com.boot3.myrestapi.lectures.dto.LectureMapper;
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCriteria;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.models.LectureSpecifications;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/*
+    Lecture 조회/등록/수정의 transaction 경계
+    open-in-view 를 끄면 DB connection 은 이 클래스의 메서드가 실행되는 동안만 사용되고,
+    HAL 링크 생성과 JSON 변환은 connection 없이 처리된다.
+    조회는 readOnly transaction : Hibernate 는 flush/dirty checking 을 하지 않고 JDBC connection 도 read-only 로 설정됨
+    조회 결과는 DTO 나 필요한 연관 객체를 함께 읽은 Entity 로 반환 (transaction 밖에서 지연 로딩하지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LectureService {
+    private final LectureRepository lectureRepository;
+    private final LectureMapper lectureMapper;
+    private final EnrollmentService enrollmentService;
+
+    public LectureResDto getLecture(Integer id) {
+        return lectureRepository.findResDtoById(id)
+                .orElseThrow(() -> lectureNotFound(id));
+    }
+
+    public Page<LectureResDto> getLectures(Pageable pageable) {
+        return lectureRepository.findAllResDto(pageable);
+    }
+
+    public Map<String, Object> getLectureFields(Integer id, LectureFields lectureFields) {
+        return lectureRepository.findTupleById(id, lectureFields)
+                .map(lectureFields::toMap)
+                .orElseThrow(() -> lectureNotFound(id));
+    }
+
+    public Page<Map<String, Object>> getLectureFields(LectureFields lectureFields, Pageable pageable) {
+        return lectureRepository.findTuples(lectureFields, pageable)
+                .map(lectureFields::toMap);
+    }
+
+    //cursor 가 null 이면 첫 페이지
+    public List<LectureResDto> getLecturesAfter(LectureCursor cursor, Pageable limit) {
+        return (cursor == null)
+                ? lectureRepository.findFirstResDtos(limit)
+                : lectureRepository.findResDtosAfter(cursor.beginLectureDateTime(), cursor.id(), limit);
+    }
+
+    public List<LectureResDto> getLecturesByIds(Collection<Integer> ids) {
+        return lectureRepository.findResDtosByIdIn(ids);
+    }
+
+    //등록한 User 의 email 을 transaction 안에서 LectureResDto 로 변환
+    public Page<LectureResDto> searchLectures(LectureSearchCriteria criteria, UserInfo currentUser, Pageable pageable) {
+        return lectureRepository.findAll(LectureSpecifications.of(criteria, currentUser), pageable)
+                .map(lectureMapper::toResDto);
+    }
+
+    @Transactional
+    public Lecture createLecture(LectureReqDto lectureReqDto, UserInfo currentUser) {
+        // ReqDTO => Entity 변환
+        Lecture lecture = lectureMapper.toEntity(lectureReqDto);
+        //offline, free 필드의 값을 설정
+        lecture.update();
+        //Lecture와 UserInfo 연관관계 설정
+        lecture.setUserInfo(currentUser);
+        return lectureRepository.save(lecture);
+    }
+
+    //입력항목 검증은 호출하기 전에 끝내야 함, 반환하는 Lecture 는 등록한 User 를 함께 조회한 상태
+    //versionMatches : If-Match 로 받은 version 과 현재 version 비교
+    @Transactional
+    public Lecture updateLecture(Integer id, LectureReqDto lectureReqDto, Predicate<Long> versionMatches,
+                                 UserInfo currentUser) {
+        //등록한 User 를 fetch join 으로 함께 조회
+        Lecture existingLecture = lectureRepository.findWithUserInfoById(id)
+                .orElseThrow(() -> lectureNotFound(id));
+        //Lecture가 참조하는 UserInfo 객체와 인증한 UserInfo 객체가 다르면 401 인증 오류
+        if ((existingLecture.getUserInfo() != null) && (!isOwner(existingLecture, currentUser))) {
+            throw new BadCredentialsException("등록한 User와 수정을 요청한 User가 다릅니다.");
+        }
+        //If-Match 의 version 이 현재 version 과 다르면 다른 사용자가 먼저 수정한 것이므로 412
+        //(조회 이후 저장 전에 수정된 경우는 @Version 검사에서 OptimisticLockingFailureException 발생)
+        if (!versionMatches.test(existingLecture.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    String.format("Id = %d Lecture was modified by another request", id));
+        }
+
+        int previousLimit = existingLecture.getLimitOfEnrollment();
+        lectureMapper.updateEntity(lectureReqDto, existingLecture);
+        existingLecture.update();
+        //version 검사를 통과한 후에 좌석 수를 조정하도록 먼저 flush
+        Lecture savedLecture = lectureRepository.saveAndFlush(existingLecture);
+        //정원이 바뀌면 남은 좌석 수 조정 (늘어난 좌석은 대기자에게)
+        enrollmentService.changeLimit(id, previousLimit, savedLecture.getLimitOfEnrollment());
+        return savedLecture;
+    }
+
+    private static boolean isOwner(Lecture lecture, UserInfo currentUser) {
+        return lecture.getUserInfo() != null && currentUser != null
+                && lecture.getUserInfo().getId() == currentUser.getId();
+    }
+
+    private static BusinessException lectureNotFound(Integer id) {
+        String errMsg = String.format("Id = %d Lecture Not Found", id);
+        return new BusinessException(errMsg, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,162 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureDeadline;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.models.LectureTransition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/*
+    Lecture 상태 전이 스케줄러
+    앞으로 horizon 안에 상태가 바뀔 Lecture 만 (시각, id) 우선순위 큐에 올려두고, tick 마다 시각이 된 항목을 꺼내
+    전이 종류별로 id 를 묶어 update 한다. (주기적으로 lectures 테이블 전체를 검사하지 않음)
+    시작할 때는 중지된 동안 지나간 전이를 (상태, 시각) 인덱스 범위의 update 로 한번에 처리한 후 큐를 채운다.
+ */
+@Component
+@Slf4j
+public class LectureStatusScheduler {
+    private final LectureRepository lectureRepository;
+    private final Duration horizon;
+    private final int batchSize;
+
+    //queue, loadedUntil 은 this 로 동기화
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing(Entry::dueAt));
+    //큐에 올린 구간의 끝 (시작 전에는 null)
+    private LocalDateTime loadedUntil;
+
+    public LectureStatusScheduler(LectureRepository lectureRepository,
+                                  @Value("${lectures.status.horizon-minutes:60}") long horizonMinutes,
+                                  @Value("${lectures.status.batch-size:500}") int batchSize) {
+        this.lectureRepository = lectureRepository;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            queue.clear();
+            loadedUntil = now;
+        }
+        //중지된 동안 지나간 전이 (PUBLISHED 가 두 시각을 모두 지났으면 BEGAN_ENROLLMENT 를 거쳐 CLOSED_ENROLLMENT)
+        for (LectureTransition transition : LectureTransition.values()) {
+            int updated = transition == LectureTransition.BEGIN_ENROLLMENT
+                    ? lectureRepository.updateStatusByBeginEnrollment(transition.getFrom(), transition.getTo(), now)
+                    : lectureRepository.updateStatusByCloseEnrollment(transition.getFrom(), transition.getTo(), now);
+            log.info("LectureStatusScheduler : {} missed {} transitions applied", updated, transition);
+        }
+        extend(now);
+    }
+
+    //등록/수정된 Lecture 의 전이 시각이 이미 큐에 올린 구간 안이면 추가 (이후 구간은 extend() 에서 조회됨)
+    public void schedule(Lecture lecture) {
+        for (LectureTransition transition : LectureTransition.values()) {
+            if (!transition.getPending().contains(lecture.getLectureStatus())) {
+                continue;
+            }
+            LocalDateTime dueAt = transition.deadlineOf(lecture);
+            synchronized (this) {
+                if (loadedUntil != null && !dueAt.isAfter(loadedUntil)) {
+                    queue.add(new Entry(dueAt, lecture.getId(), transition));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lectures.status.tick-ms:1000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<LectureTransition, Set<Integer>> due = new EnumMap<>(LectureTransition.class);
+        boolean extendNeeded;
+        synchronized (this) {
+            if (loadedUntil == null) {
+                return;
+            }
+            while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+                Entry entry = queue.poll();
+                due.computeIfAbsent(entry.transition(), t -> new LinkedHashSet<>()).add(entry.lectureId());
+            }
+            //남은 구간이 horizon 의 절반보다 짧아지면 다음 구간을 조회
+            extendNeeded = loadedUntil.minus(horizon.dividedBy(2)).isBefore(now);
+        }
+        //EnumMap 순서(BEGIN_ENROLLMENT -> CLOSE_ENROLLMENT)로 처리
+        due.forEach((transition, ids) -> apply(transition, new ArrayList<>(ids), now));
+        if (extendNeeded) {
+            extend(now);
+        }
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private void apply(LectureTransition transition, List<Integer> ids, LocalDateTime now) {
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                int updated = transition == LectureTransition.BEGIN_ENROLLMENT
+                        ? lectureRepository.updateStatusByBeginEnrollment(chunk, transition.getFrom(), transition.getTo(), now)
+                        : lectureRepository.updateStatusByCloseEnrollment(chunk, transition.getFrom(), transition.getTo(), now);
+                log.debug("LectureStatusScheduler : {} {} / {} lectures", transition, updated, chunk.size());
+            } catch (DataAccessException e) {
+                //다음 tick 에서 다시 시도
+                log.warn("LectureStatusScheduler : {} failed for {} lectures", transition, chunk.size(), e);
+                synchronized (this) {
+                    chunk.forEach(id -> queue.add(new Entry(now, id, transition)));
+                }
+            }
+        }
+    }
+
+    //(loadedUntil, now + horizon] 구간의 전이 시각을 큐에 추가
+    private void extend(LocalDateTime now) {
+        LocalDateTime from;
+        LocalDateTime until = now.plus(horizon);
+        synchronized (this) {
+            from = loadedUntil;
+            //조회하는 동안 등록/수정된 Lecture 도 schedule() 에서 큐에 들어가도록 먼저 구간을 늘림 (중복은 update 조건에서 걸러짐)
+            loadedUntil = until;
+        }
+        List<Entry> entries = new ArrayList<>();
+        try {
+            for (LectureTransition transition : LectureTransition.values()) {
+                List<LectureDeadline> deadlines = transition == LectureTransition.BEGIN_ENROLLMENT
+                        ? lectureRepository.findBeginEnrollmentDeadlines(transition.getPending(), from, until)
+                        : lectureRepository.findCloseEnrollmentDeadlines(transition.getPending(), from, until);
+                deadlines.forEach(deadline -> entries.add(new Entry(deadline.dueAt(), deadline.id(), transition)));
+            }
+        } catch (DataAccessException e) {
+            //구간을 되돌려 다음 tick 에서 다시 조회
+            log.warn("LectureStatusScheduler : failed to load transitions until {}", until, e);
+            synchronized (this) {
+                loadedUntil = from;
+            }
+            return;
+        }
+        synchronized (this) {
+            queue.addAll(entries);
+        }
+        log.info("LectureStatusScheduler : {} transitions scheduled until {}", entries.size(), until);
+    }
+
+    private record Entry(LocalDateTime dueAt, Integer lectureId, LectureTransition transition) {
+    }
+}
@@ -1,10 +1,15 @@
 package com.boot3.myrestapi.security.config;
 
+import com.boot3.myrestapi.common.exception.ErrorResponseWriter;
+import com.boot3.myrestapi.security.crypto.BoundedPasswordEncoder;
 import com.boot3.myrestapi.security.exception.CustomAccessDeniedHandler;
 import com.boot3.myrestapi.security.exception.CustomAuthenticationEntryPoint;
 import com.boot3.myrestapi.security.jwt.JwtAuthenticationFilter;
+import com.boot3.myrestapi.security.ratelimit.RateLimitFilter;
 import com.boot3.myrestapi.security.userinfo.UserInfoUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -20,6 +25,7 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.AuthenticationEntryPoint;
@@ -27,29 +33,63 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+    //인증 없이 접근 가능한 경로 (JwtAuthenticationFilter 에서도 토큰 처리를 건너뜀)
+    public static final String PERMIT_ALL_PATTERN = "/users/**";
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    @Value("${security.password.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordPoolSize;
+    //queue 는 pool 크기 정도만 두어 넘치는 요청은 기다리지 않고 바로 503
+    @Value("${security.password.queue-capacity:${security.password.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}}")
+    private int passwordQueueCapacity;
+    @Value("${security.password.timeout-ms:300}")
+    private long passwordTimeoutMillis;
+
+    /*
+        새 비밀번호는 {bcrypt} prefix 와 설정된 cost 로 저장하고
+        prefix 가 없거나 cost 가 낮은 기존 해시는 로그인 성공시 다시 해싱함 (DaoAuthenticationProvider 가 처리)
+        encode/matches 는 BoundedPasswordEncoder 의 전용 pool 에서 실행됨
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        String idForEncode = "bcrypt";
+        Map<String, PasswordEncoder> encoders = Map.of(idForEncode, new BCryptPasswordEncoder(bcryptStrength));
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder, passwordPoolSize, passwordQueueCapacity,
+                passwordTimeoutMillis);
     }
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    @Autowired
+    private ErrorResponseWriter errorResponseWriter;
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> {
-                    auth.requestMatchers("/users/**").permitAll()
-                            .requestMatchers("/api/lectures/**").authenticated();
+                    //Servlet async 응답(StreamingResponseBody, Mono/Flux)의 async dispatch 는 첫 요청에서 이미 인가됨
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                            .requestMatchers(PERMIT_ALL_PATTERN).permitAll()
+                            .requestMatchers("/api/lectures/**").authenticated()
+                            .requestMatchers("/rx/api/lectures/**").authenticated();
                 })
                 //.formLogin(withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                //인증된 userId 를 알 수 있도록 JWT 필터 다음에 rate limit 적용
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .exceptionHandling(authManager -> authManager
                         .authenticationEntryPoint(authenticationEntryPoint())
                         .accessDeniedHandler(accessDeniedHandler())
@@ -66,13 +106,13 @@ public class SecurityConfig {
     //401
     @Bean
     public AuthenticationEntryPoint authenticationEntryPoint() {
-        return new CustomAuthenticationEntryPoint();
+        return new CustomAuthenticationEntryPoint(errorResponseWriter);
     }
 
     //403
     @Bean
     public AccessDeniedHandler accessDeniedHandler() {
-        return new CustomAccessDeniedHandler();
+        return new CustomAccessDeniedHandler(errorResponseWriter);
     }
 
     @Bean
@@ -81,7 +121,7 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
     @Bean
-    public UserDetailsService userDetailsService() {
+    public UserInfoUserDetailsService userDetailsService() {
         return new UserInfoUserDetailsService();
     }
     @Bean
@@ -89,6 +129,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService());
         authenticationProvider.setPasswordEncoder(passwordEncoder());
+        //로그인 성공시 cost 가 낮은 해시를 새 cost 로 다시 저장
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService());
         return authenticationProvider;
     }
 
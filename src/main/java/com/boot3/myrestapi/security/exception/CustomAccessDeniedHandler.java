@@ -1,7 +1,6 @@
 package com.boot3.myrestapi.security.exception;
 
-import com.boot3.myrestapi.common.exception.ErrorObject;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.boot3.myrestapi.common.exception.ErrorResponseWriter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,26 +12,19 @@ import java.io.IOException;
 
 @Slf4j
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
+    private final ErrorResponseWriter errorResponseWriter;
+
+    public CustomAccessDeniedHandler(ErrorResponseWriter errorResponseWriter) {
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
     @Override
     public void handle(HttpServletRequest request,
                        HttpServletResponse response,
                        AccessDeniedException accessDeniedException)
             throws IOException, ServletException {
-
-        // Set response content type to JSON
-        response.setContentType("application/json;charset=UTF-8");
         // Set response code 403
-        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-
-        ObjectMapper mapper = new ObjectMapper();
-        ErrorObject errorObject = new ErrorObject();
-        errorObject.setStatusCode(HttpServletResponse.SC_FORBIDDEN);
-        errorObject.setMessage("요청된 리소스에 대한 유효한 권한(Authorization)이 없습니다!!");
-
-        // Add content to the response
-        String json = mapper.writerWithDefaultPrettyPrinter()
-                .writeValueAsString(errorObject);
-        response.getWriter().write(json);
-
+        errorResponseWriter.write(response, HttpServletResponse.SC_FORBIDDEN,
+                "요청된 리소스에 대한 유효한 권한(Authorization)이 없습니다!!");
     }
-}
\ No newline at end of file
+}
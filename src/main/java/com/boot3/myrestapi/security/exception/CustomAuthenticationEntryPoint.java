@@ -1,7 +1,6 @@
 package com.boot3.myrestapi.security.exception;
 
-import com.boot3.myrestapi.common.exception.ErrorObject;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.boot3.myrestapi.common.exception.ErrorResponseWriter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,30 +15,21 @@ import java.io.IOException;
  */
 @Slf4j
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
+    private final ErrorResponseWriter errorResponseWriter;
+
+    public CustomAuthenticationEntryPoint(ErrorResponseWriter errorResponseWriter) {
+        this.errorResponseWriter = errorResponseWriter;
+    }
 
     @Override
     public void commence(HttpServletRequest request,
                          HttpServletResponse response,
                          AuthenticationException authException)
             throws IOException, ServletException {
-
-        response.setContentType("application/json;charset=UTF-8");
         //Set response status code 401
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-
-        ObjectMapper mapper = new ObjectMapper();
-        // Create response content
-        ErrorObject errorObject = new ErrorObject();
-        errorObject.setStatusCode(HttpServletResponse.SC_UNAUTHORIZED);
-        if(authException.getMessage() != null){
-            errorObject.setMessage(authException.getMessage());
-        }else {
-            errorObject.setMessage("요청된 리소스에 대한 유효한 인증 자격 증명(Authentication)이 실패 하였습니다!!");
-        }
-
-        String json = mapper.writerWithDefaultPrettyPrinter()
-                .writeValueAsString(errorObject);
-        response.getWriter().write(json);
-
+        String message = authException.getMessage() != null
+                ? authException.getMessage()
+                : "요청된 리소스에 대한 유효한 인증 자격 증명(Authentication)이 실패 하였습니다!!";
+        errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.boot3.myrestapi.security.exception;
+
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+
+/*
+    잘못된/만료된/폐기된 JWT 토큰 예외
+    공격 트래픽에서 자주 발생하는 예상된 실패이므로 stack trace 를 만들지 않고,
+    원인 예외(stack trace 를 가진 jjwt 예외)도 참조하지 않아 요청이 끝나면 바로 수거되도록 함
+ */
+public class InvalidJwtException extends AuthenticationCredentialsNotFoundException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidJwtException(String msg) {
+        super(msg);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,12 @@
+package com.boot3.myrestapi.security.exception;
+
+/*
+    BCrypt 처리용 thread pool 과 queue 가 가득 차서 요청을 거절할 때 발생 (503 Service Unavailable)
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException() {
+        super("로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도하세요.");
+    }
+}
@@ -0,0 +1,9 @@
+package com.boot3.myrestapi.security.jwt;
+
+/*
+    DB     : 토큰의 subject(userId)로 요청마다 UserInfo 를 DB에서 조회
+    CLAIMS : 토큰에 포함된 roles, email, uid claim 으로 인증객체를 생성 (DB 조회 없음)
+ */
+public enum JwtAuthMode {
+    DB, CLAIMS
+}
@@ -1,18 +1,25 @@
 package com.boot3.myrestapi.security.jwt;
 
+import com.boot3.myrestapi.common.exception.ErrorResponseWriter;
+import com.boot3.myrestapi.security.config.SecurityConfig;
+import com.boot3.myrestapi.security.exception.InvalidJwtException;
+import com.boot3.myrestapi.security.jwt.JwtTokenCache.VerifiedToken;
 import com.boot3.myrestapi.security.userinfo.UserInfo;
 import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
-import com.boot3.myrestapi.security.userinfo.UserInfoUserDetailsService;
+import com.boot3.myrestapi.security.userinfo.UserInfoUserDetails;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -20,45 +27,81 @@ import java.io.IOException;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final RequestMatcher PERMIT_ALL_MATCHER =
+            new AntPathRequestMatcher(SecurityConfig.PERMIT_ALL_PATTERN);
+
     @Autowired
     private JwtService jwtService;
     @Autowired
-    private UserInfoUserDetailsService userDetailsService;
+    private JwtTokenCache tokenCache;
+    @Autowired
+    private TokenRevocationIndex revocationIndex;
+    @Autowired
+    private ErrorResponseWriter errorResponseWriter;
 
     @Autowired
     private UserInfoRepository repository;
 
+    //permitAll 경로(/users/**)는 토큰 처리를 하지 않음
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PERMIT_ALL_MATCHER.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
         //Bearer eyJhbGciOiJIUzI1NiJ9.ey
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            //username = jwtService.extractUsername(token);
-            String userId = jwtService.extractUsername(token);
-            UserInfo userInfo = repository.findByUserId(userId)
-                    .orElseThrow(() -> new UsernameNotFoundException("user not found "));
-            username = userInfo.getEmail();
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
+            UserInfoUserDetails userDetails;
+            try {
+                userDetails = resolveUserDetails(token);
+            } catch (AuthenticationException ex) {
+                //잘못된 토큰은 예외를 컨테이너로 던지지 않고 바로 401 응답
+                SecurityContextHolder.clearContext();
+                errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, ex.getMessage());
+                return;
+            }
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(userDetails,
+                            null, userDetails.getAuthorities());
+            //Authentication 객체생성
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            //Authentication 객체를 SecurityContext에 저장함
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
+        filterChain.doFilter(request, response);
+    }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            //UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            //if (jwtService.validateToken(token, userDetails)) {
-            if (jwtService.validateToken(token)) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails,
-                                null, userDetails.getAuthorities());
-                //Authentication 객체생성
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                //Authentication 객체를 SecurityContext에 저장함
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+    /*
+        캐시에 검증된 토큰이 있으면 파싱/DB 조회 없이 UserDetails 를 반환하고
+        없으면 토큰을 한번만 파싱해서 검증한 후 UserInfo 를 한번만 조회하여 캐시에 저장함
+        (CLAIMS 모드에서는 UserInfo 를 토큰의 claim 에서 생성함)
+        캐시 여부와 관계없이 폐기된(logout) 토큰인지 확인함
+     */
+    private UserInfoUserDetails resolveUserDetails(String token) {
+        String cacheKey = tokenCache.keyOf(token);
+        VerifiedToken verifiedToken = tokenCache.get(cacheKey);
+        if (verifiedToken == null) {
+            Claims claims = jwtService.validateAndGetClaims(token);
+            //CLAIMS 모드이고 토큰에 roles claim 이 있으면 DB 조회 없이 인증객체 생성
+            UserInfo userInfo = jwtService.isClaimsMode() ? jwtService.extractUserInfo(claims) : null;
+            if (userInfo == null) {
+                String userId = claims.getSubject();
+                userInfo = repository.findByUserId(userId)
+                        .orElseThrow(() -> new UsernameNotFoundException("user not found "));
             }
+            verifiedToken = new VerifiedToken(new UserInfoUserDetails(userInfo),
+                    claims.getId(), claims.getExpiration().getTime());
+            tokenCache.put(cacheKey, verifiedToken);
         }
-        filterChain.doFilter(request, response);
+        if (revocationIndex.isRevoked(verifiedToken.jti())) {
+            throw new InvalidJwtException("JWT was revoked");
+        }
+        return verifiedToken.userDetails();
     }
-}
\ No newline at end of file
+}
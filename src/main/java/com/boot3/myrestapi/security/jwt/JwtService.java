@@ -1,12 +1,15 @@
 package com.boot3.myrestapi.security.jwt;
 
+import com.boot3.myrestapi.security.exception.InvalidJwtException;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecureDigestAlgorithm;
-import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -25,12 +28,34 @@ public class JwtService {
     public static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
     private final static SecureDigestAlgorithm<SecretKey, SecretKey> ALGORITHM = Jwts.SIG.HS256;
     public static final int ACCESS_EXPIRE = 3600;
+    //JwtParser 는 immutable, thread-safe 하므로 한번만 생성해서 재사용
+    private static final JwtParser PARSER = Jwts
+            .parser() //JwtParserBuilder
+            .verifyWith(KEY)
+            .build();
+    //claims 모드 토큰에 포함되는 claim 이름
+    public static final String CLAIM_UID = "uid";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLES = "roles";
+
+    //DB : 요청마다 userId로 UserInfo 조회, CLAIMS : 토큰의 claim 으로 인증객체 생성 (DB 조회 없음)
+    @Value("${jwt.auth-mode:DB}")
+    private JwtAuthMode authMode;
+
+    //access token 유효시간(초), 기본값 ACCESS_EXPIRE
+    @Value("${jwt.access-expire-seconds:" + ACCESS_EXPIRE + "}")
+    private long accessExpireSeconds;
+
+    public boolean isClaimsMode() {
+        return authMode == JwtAuthMode.CLAIMS;
+    }
+
+    public long getAccessExpireSeconds() {
+        return accessExpireSeconds;
+    }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser() //JwtParserBuilder
-                .verifyWith(KEY)
-                .build()
+        return PARSER
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -58,16 +83,20 @@ public class JwtService {
     }
 
     public boolean validateToken(String token) {
+        validateAndGetClaims(token);
+        return true;
+    }
+
+    /*
+        서명과 만료시간을 한번에 검증하고 Claims 를 반환
+        (extractUsername + validateToken 으로 토큰을 두번 파싱하지 않기 위함)
+     */
+    public Claims validateAndGetClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(KEY)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return extractAllClaims(token);
         } catch (Exception ex) {
-            throw new AuthenticationCredentialsNotFoundException(
-                    "JWT was expired or incorrect",
-                    ex.fillInStackTrace());
+            //원인 예외는 연결하지 않음 (InvalidJwtException 참고)
+            throw new InvalidJwtException("JWT was expired or incorrect");
         }
     }
 
@@ -88,14 +117,55 @@ public class JwtService {
     }
 
     public String generateTokenUserId(String userId){
-        // ACCESS_EXPIRE 1500초 => 25분
-        Date exprireDate = Date.from(Instant.now().plusSeconds(ACCESS_EXPIRE));
+        Date exprireDate = Date.from(Instant.now().plusSeconds(accessExpireSeconds));
 
         return Jwts.builder()
                 .signWith(KEY, ALGORITHM)
+                // token id (jti) - logout 시 TokenRevocationIndex 에 등록됨
+                .id(UUID.randomUUID().toString())
                 .subject(userId)
                 .issuedAt(new Date())
                 .expiration(exprireDate)
                 .compact();
     }
-}
\ No newline at end of file
+
+    /*
+        로그인 성공시 발급하는 토큰
+        CLAIMS 모드이면 roles, email, uid 를 claim 으로 포함한 토큰을 발급함
+     */
+    public String issueToken(UserInfo userInfo) {
+        if (!isClaimsMode()) {
+            return generateTokenUserId(userInfo.getUserId());
+        }
+        Date exprireDate = Date.from(Instant.now().plusSeconds(accessExpireSeconds));
+
+        return Jwts.builder()
+                .signWith(KEY, ALGORITHM)
+                .id(UUID.randomUUID().toString())
+                .subject(userInfo.getUserId())
+                .claim(CLAIM_UID, userInfo.getId())
+                .claim(CLAIM_EMAIL, userInfo.getEmail())
+                .claim(CLAIM_ROLES, userInfo.getRoles())
+                .issuedAt(new Date())
+                .expiration(exprireDate)
+                .compact();
+    }
+
+    //CLAIMS 모드 토큰의 claim 으로 UserInfo 생성 (roles claim 이 없으면 null, uid claim 이 없으면 401)
+    public UserInfo extractUserInfo(Claims claims) {
+        String roles = claims.get(CLAIM_ROLES, String.class);
+        if (roles == null) {
+            return null;
+        }
+        Integer uid = claims.get(CLAIM_UID, Integer.class);
+        if (uid == null) {
+            throw new InvalidJwtException("JWT uid claim is missing");
+        }
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(uid);
+        userInfo.setUserId(claims.getSubject());
+        userInfo.setEmail(claims.get(CLAIM_EMAIL, String.class));
+        userInfo.setRoles(roles);
+        return userInfo;
+    }
+}
@@ -0,0 +1,138 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.common.cache.StripedLruCache;
+import com.boot3.myrestapi.security.userinfo.UserInfoUserDetails;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    이미 서명/만료 검증이 끝난 JWT 토큰의 캐시
+    key 는 토큰 원문이 아닌 SHA-256 digest, 토큰의 exp 시간이 지나면 제거된다.
+    maxSize 를 넘으면 가장 오래 사용하지 않은 토큰 하나를 제거하는 LRU (put 마다 O(1))
+    StripedLruCache 의 segment 마다 lock 을 잡으므로 서로 다른 토큰의 조회끼리는 lock 을 다투지 않는다.
+    사용자별 key 목록을 함께 보관하여 invalidateUser 는 해당 사용자의 토큰만 제거한다.
+ */
+@Component
+public class JwtTokenCache {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final StripedLruCache<String, VerifiedToken> cache;
+    //userInfoId -> 캐시된 토큰의 key, key 목록은 keysByUser 의 compute 안에서만 변경
+    private final Map<Integer, Set<String>> keysByUser = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JwtTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize,
+                         MeterRegistry meterRegistry) {
+        this.cache = new StripedLruCache<>(maxSize, (key, evicted) -> {
+            unindex(key, evicted);
+            evictions.increment();
+        });
+        FunctionCounter.builder("jwt.token.cache", hits, LongAdder::sum)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("jwt.token.cache", misses, LongAdder::sum)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("jwt.token.cache.evictions", evictions, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("jwt.token.cache.size", this, JwtTokenCache::size).register(meterRegistry);
+    }
+
+    public String keyOf(String token) {
+        byte[] digest = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    public VerifiedToken get(String key) {
+        VerifiedToken cached = cache.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            if (cache.remove(key, cached)) {
+                unindex(key, cached);
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    public void put(String key, VerifiedToken verifiedToken) {
+        //가득 차 있으면 put 에서 segment 의 가장 오래 사용하지 않은 토큰을 제거
+        VerifiedToken previous = cache.put(key, verifiedToken);
+        if (previous != null && !userInfoIdOf(previous).equals(userInfoIdOf(verifiedToken))) {
+            unindex(key, previous);
+        }
+        //cache 에 넣은 후 색인 (그 사이 제거된 key 가 색인에 남아도 invalidateUser 에서 무시됨)
+        keysByUser.compute(userInfoIdOf(verifiedToken), (id, keys) -> {
+            Set<String> indexed = keys == null ? new HashSet<>() : keys;
+            indexed.add(key);
+            return indexed;
+        });
+    }
+
+    //UserInfo 가 변경되면 해당 사용자의 캐시된 토큰을 제거
+    public void invalidateUser(int userInfoId) {
+        Set<String> keys = keysByUser.remove(userInfoId);
+        if (keys != null) {
+            keys.forEach(cache::remove);
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void unindex(String key, VerifiedToken verifiedToken) {
+        keysByUser.computeIfPresent(userInfoIdOf(verifiedToken), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static Integer userInfoIdOf(VerifiedToken verifiedToken) {
+        return verifiedToken.userDetails().getUserInfo().getId();
+    }
+
+    //검증된 토큰의 UserDetails, jti(폐기 여부 확인용), 만료시간
+    public record VerifiedToken(UserInfoUserDetails userDetails, String jti, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
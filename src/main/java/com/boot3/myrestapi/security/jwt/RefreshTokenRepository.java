@@ -0,0 +1,26 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    //동시에 같은 토큰으로 refresh 하면 한 요청만 1을 반환함
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.id = :id and r.revoked = false")
+    int revokeIfActive(Long id);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.userInfo = :userInfo and r.revoked = false")
+    int revokeAllByUserInfo(UserInfo userInfo);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
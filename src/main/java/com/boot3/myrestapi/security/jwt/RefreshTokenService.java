@@ -0,0 +1,94 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/*
+    refresh token 발급/교체(rotation)/폐기
+    refresh 에는 비밀번호 해싱(BCrypt)이 없고 SHA-256 hash 로만 조회한다.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository repository;
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${jwt.refresh-expire-seconds:1209600}")
+    private long refreshExpireSeconds;
+
+    public String issue(UserInfo userInfo) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .userInfo(userInfo)
+                .expiresAt(LocalDateTime.now().plusSeconds(refreshExpireSeconds))
+                .build();
+        repository.save(refreshToken);
+        return rawToken;
+    }
+
+    /*
+        refresh token 을 폐기하고 새 access token, refresh token 을 발급
+        이미 폐기된 토큰이 다시 사용되면(탈취 의심) 해당 사용자의 모든 refresh token 을 폐기함
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public TokenResponse rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        RefreshToken stored = repository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        if (stored.isExpired()) {
+            throw new BadCredentialsException("Refresh token was expired");
+        }
+        if (stored.isRevoked() || repository.revokeIfActive(stored.getId()) == 0) {
+            repository.revokeAllByUserInfo(stored.getUserInfo());
+            throw new BadCredentialsException("Refresh token was already used");
+        }
+        UserInfo userInfo = stored.getUserInfo();
+        return new TokenResponse(jwtService.issueToken(userInfo), issue(userInfo),
+                jwtService.getAccessExpireSeconds());
+    }
+
+    public void revoke(String rawToken) {
+        if (rawToken == null) {
+            return;
+        }
+        repository.findByTokenHash(hash(rawToken))
+                .ifPresent(stored -> repository.revokeIfActive(stored.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-prune-interval-ms:3600000}")
+    public void deleteExpired() {
+        repository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
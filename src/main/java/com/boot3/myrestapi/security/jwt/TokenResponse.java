@@ -0,0 +1,13 @@
+package com.boot3.myrestapi.security.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TokenResponse {
+    private String accessToken;
+    private String refreshToken;
+    //access token 유효시간(초)
+    private long expiresIn;
+}
@@ -0,0 +1,95 @@
+package com.boot3.myrestapi.security.jwt;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+    폐기된(logout) access token 의 jti 목록
+    bloom filter 에 없으면 바로 false, 있을 때만 정확한 Set(Map)을 확인한다.
+    exp 가 지난 jti 는 prune() 에서 제거하고 bloom filter 를 다시 만든다.
+ */
+@Component
+public class TokenRevocationIndex {
+    private static final int BLOOM_BITS = 1 << 20;
+    private static final int BLOOM_HASHES = 3;
+
+    //jti -> exp(millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter = new BloomFilter(BLOOM_BITS);
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti == null) {
+            return;
+        }
+        //Map 에 먼저 저장한 후 bloom filter 에 추가해야 prune() 과 경합해도 누락되지 않음
+        revoked.put(jti, expiresAtMillis);
+        bloomFilter.add(jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:60000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        BloomFilter rebuilt = new BloomFilter(BLOOM_BITS);
+        revoked.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+        //교체하는 동안 이전 filter 에만 추가된 jti 를 다시 추가
+        revoked.keySet().forEach(rebuilt::add);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final int size;
+
+        BloomFilter(int size) {
+            this.size = size;
+            this.bits = new AtomicLongArray(size >>> 6);
+        }
+
+        void add(String value) {
+            int h1 = value.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int index = Math.floorMod(h1 + i * h2, size);
+                long mask = 1L << index;
+                bits.getAndAccumulate(index >>> 6, mask, (current, bit) -> current | bit);
+            }
+        }
+
+        boolean mightContain(String value) {
+            int h1 = value.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int index = Math.floorMod(h1 + i * h2, size);
+                if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h | 1;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import com.boot3.myrestapi.security.userinfo.UserInfoUserDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    /users/login, /users/new 는 client IP 별로, /api/lectures/** 는 인증된 userId 별로 요청 수를 제한
+    SecurityConfig 에서 JwtAuthenticationFilter 다음에 등록됨
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"statusCode\":429,\"message\":\"요청이 너무 많습니다. 잠시 후 다시 시도하세요.\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimitProperties properties;
+    private final List<RuleState> rules = new ArrayList<>();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        properties.getRules().forEach((name, rule) -> rules.add(new RuleState(name, rule, meterRegistry)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        for (RuleState rule : rules) {
+            if (!rule.matcher.matches(request)) {
+                continue;
+            }
+            long waitNanos = rule.tryAcquire(request, System.nanoTime());
+            if (waitNanos > 0) {
+                rule.throttled.increment();
+                writeTooManyRequests(response, waitNanos);
+                return;
+            }
+            rule.allowed.increment();
+            break;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        rules.forEach(rule -> rule.buckets.values().removeIf(bucket -> bucket.isFull(now)));
+    }
+
+    private static void writeTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+
+    private static final class RuleState {
+        final AntPathRequestMatcher matcher;
+        final RateLimitProperties.Rule rule;
+        final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        final Counter allowed;
+        final Counter throttled;
+
+        RuleState(String name, RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            this.matcher = new AntPathRequestMatcher(rule.getPattern());
+            this.rule = rule;
+            this.allowed = Counter.builder("ratelimit.requests")
+                    .tag("rule", name).tag("outcome", "allowed").register(meterRegistry);
+            this.throttled = Counter.builder("ratelimit.requests")
+                    .tag("rule", name).tag("outcome", "throttled").register(meterRegistry);
+        }
+
+        long tryAcquire(HttpServletRequest request, long now) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (rule.getKey() == RateLimitProperties.KeyType.USER
+                    && authentication != null
+                    && authentication.getPrincipal() instanceof UserInfoUserDetails userDetails) {
+                String userId = userDetails.getUserInfo().getUserId();
+                return buckets.computeIfAbsent(userId, key -> new TokenBucket(limitFor(authentication)))
+                        .tryAcquire(now);
+            }
+            //IP 규칙이거나 인증되지 않은 요청은 client IP 기준
+            return buckets.computeIfAbsent(request.getRemoteAddr(), key -> new TokenBucket(rule))
+                    .tryAcquire(now);
+        }
+
+        //사용자의 role 중 한도가 가장 큰 설정을 사용, 없으면 rule 의 기본 한도
+        private RateLimitProperties.Limit limitFor(Authentication authentication) {
+            RateLimitProperties.Limit selected = rule;
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                RateLimitProperties.Limit roleLimit = rule.getRoles().get(authority.getAuthority());
+                if (roleLimit != null && roleLimit.getRefillPerSecond() > selected.getRefillPerSecond()) {
+                    selected = roleLimit;
+                }
+            }
+            return selected;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+    ratelimit.rules.<name>.pattern / key / capacity / refill-per-second
+    ratelimit.rules.<name>.roles[ROLE_XXX].capacity / refill-per-second 로 role 별 한도를 지정
+    capacity, refill-per-second 가 0 이하이면 시작할 때 바인딩 오류 (TokenBucket 의 간격 계산이 깨지지 않도록)
+ */
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+@Validated
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    //가득 찬(idle) bucket 을 제거하는 주기(ms)
+    private long evictIntervalMs = 60000;
+    private Map<String, @Valid Rule> rules = new LinkedHashMap<>();
+
+    public enum KeyType {
+        IP, USER
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        //한번에 허용하는 최대 요청 수(burst)
+        @Positive
+        private int capacity = 10;
+        //초당 채워지는 요청 수
+        @Positive
+        private double refillPerSecond = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Rule extends Limit {
+        @NotBlank
+        private String pattern;
+        private KeyType key = KeyType.IP;
+        private Map<String, @Valid Limit> roles = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,38 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    lock-free token bucket (GCRA 방식)
+    다음 요청이 허용되는 이론상 시각(TAT) 하나만 AtomicLong 으로 보관하고 CAS 로 갱신한다.
+ */
+class TokenBucket {
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+
+    TokenBucket(RateLimitProperties.Limit limit) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / limit.getRefillPerSecond());
+        this.toleranceNanos = emissionIntervalNanos * (limit.getCapacity() - 1);
+    }
+
+    //허용되면 0, 거절되면 다시 시도할 수 있을 때까지 남은 시간(ns)을 반환
+    long tryAcquire(long now) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long base = Math.max(tat, now);
+            long waitNanos = base - now - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    //bucket 이 가득 찬 상태면 제거해도 다음 요청의 결과가 같음
+    boolean isFull(long now) {
+        return theoreticalArrivalTime.get() <= now;
+    }
+}
@@ -0,0 +1,8 @@
+package com.boot3.myrestapi.security.userinfo;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    private String refreshToken;
+}
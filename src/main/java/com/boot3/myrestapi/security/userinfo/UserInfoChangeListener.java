@@ -0,0 +1,42 @@
+package com.boot3.myrestapi.security.userinfo;
+
+import com.boot3.myrestapi.security.jwt.JwtTokenCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+    UserInfo 가 저장/수정/삭제되면 캐시된 인증 정보(UserInfoPrincipalCache, JwtTokenCache)를 제거하는 JPA EntityListener
+    (UserInfoController.addNewUser 를 포함한 모든 UserInfo 쓰기에 적용됨)
+ */
+public class UserInfoChangeListener {
+    @Autowired
+    private ObjectProvider<UserInfoPrincipalCache> principalCache;
+    @Autowired
+    private ObjectProvider<JwtTokenCache> tokenCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(UserInfo userInfo) {
+        invalidate(userInfo);
+        //commit 전에 다른 thread 가 이전 값을 다시 캐시할 수 있으므로 commit 후에 한번 더 제거
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userInfo);
+                }
+            });
+        }
+    }
+
+    private void invalidate(UserInfo userInfo) {
+        principalCache.ifAvailable(cache -> cache.invalidate(userInfo));
+        tokenCache.ifAvailable(cache -> cache.invalidateUser(userInfo.getId()));
+    }
+}
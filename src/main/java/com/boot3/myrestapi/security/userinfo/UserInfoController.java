@@ -1,7 +1,13 @@
 package com.boot3.myrestapi.security.userinfo;
 
 import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.jwt.RefreshTokenService;
+import com.boot3.myrestapi.security.jwt.TokenResponse;
+import com.boot3.myrestapi.security.jwt.TokenRevocationIndex;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -22,9 +28,13 @@ public class UserInfoController {
     private AuthenticationManager authenticationManager;
     @Autowired
     private JwtService jwtService;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private TokenRevocationIndex revocationIndex;
 
     @PostMapping("/login")
-    public String authenticateAndGetToken(@RequestBody AuthRequest authRequest) {
+    public TokenResponse authenticateAndGetToken(@RequestBody AuthRequest authRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         authRequest.getEmail(),
@@ -35,11 +45,34 @@ public class UserInfoController {
             //return jwtService.generateToken(authRequest.getEmail());
             UserInfo userInfo = repository.findByEmail(authRequest.getEmail())
                     .orElseThrow(() -> new UsernameNotFoundException("user not found " + authRequest.getEmail()));
-            return jwtService.generateTokenUserId(userInfo.getUserId());
+            return new TokenResponse(jwtService.issueToken(userInfo),
+                    refreshTokenService.issue(userInfo),
+                    jwtService.getAccessExpireSeconds());
         } else {
             throw new UsernameNotFoundException("Invalid user request !");
         }
     }
+
+    //refresh token 으로 access token 재발급 (refresh token 도 새로 발급됨, 비밀번호 해싱 없음)
+    @PostMapping("/token/refresh")
+    public TokenResponse refreshToken(@RequestBody RefreshTokenRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken());
+    }
+
+    //refresh token 폐기, Authorization 헤더의 access token 은 만료시간까지 폐기 목록에 등록
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        if (request != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            Claims claims = jwtService.validateAndGetClaims(authHeader.substring(7));
+            revocationIndex.revoke(claims.getId(), claims.getExpiration().getTime());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/new")
     public String addNewUser(@RequestBody UserInfo userInfo){
         //userId에 UUID 값으로 저장
@@ -3,6 +3,7 @@ package com.boot3.myrestapi.security.userinfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -10,6 +11,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Component
+@Order(2)
 public class UserInfoInsertRunner implements ApplicationRunner {
     @Autowired
     UserInfoRepository userInfoRepository;
@@ -0,0 +1,101 @@
+package com.boot3.myrestapi.security.userinfo;
+
+import com.boot3.myrestapi.common.cache.StripedLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/*
+    email 을 key 로 UserInfoUserDetails 를 보관하는 read-through 캐시
+    같은 key 를 동시에 조회하면 DB 조회는 한번만 수행되고 나머지는 그 결과를 기다린다.
+    UserInfo 가 변경되면 UserInfoChangeListener 가 invalidate 를 호출한다.
+    (email 이 변경되어도 이전 email 의 항목을 찾을 수 있도록 userInfoId -> email 을 함께 보관)
+    maxSize 를 넘으면 StripedLruCache 가 가장 오래 사용하지 않은 항목 하나를 제거
+ */
+@Component
+public class UserInfoPrincipalCache {
+    private final StripedLruCache<String, Entry> cache;
+    private final Map<Integer, String> emailsByUserId = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public UserInfoPrincipalCache(@Value("${userinfo.cache.max-size:10000}") int maxSize,
+                                  @Value("${userinfo.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new StripedLruCache<>(maxSize, this::unindex);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public UserInfoUserDetails get(String email, Function<String, UserInfoUserDetails> loader) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry entry = cache.get(email);
+            if (entry != null) {
+                if (!entry.isExpired(now)) {
+                    return await(entry);
+                }
+                remove(email, entry);
+                continue;
+            }
+            Entry loading = new Entry(new CompletableFuture<>(), now + ttlMillis);
+            if (cache.putIfAbsent(email, loading) != null) {
+                //다른 thread 가 먼저 조회를 시작함
+                continue;
+            }
+            try {
+                UserInfoUserDetails loaded = loader.apply(email);
+                emailsByUserId.put(loaded.getUserInfo().getId(), email);
+                loading.future().complete(loaded);
+                return loaded;
+            } catch (RuntimeException e) {
+                //조회 실패(UsernameNotFoundException 등)는 캐시하지 않음
+                cache.remove(email, loading);
+                loading.future().completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public void invalidate(UserInfo userInfo) {
+        if (userInfo.getEmail() != null) {
+            cache.remove(userInfo.getEmail());
+        }
+        //email 이 변경된 경우 이전 email 로 저장된 항목도 제거
+        String cachedEmail = emailsByUserId.remove(userInfo.getId());
+        if (cachedEmail != null) {
+            cache.remove(cachedEmail);
+        }
+    }
+
+    private void remove(String email, Entry entry) {
+        if (cache.remove(email, entry)) {
+            unindex(email, entry);
+        }
+    }
+
+    private void unindex(String email, Entry entry) {
+        if (entry.future().isDone() && !entry.future().isCompletedExceptionally()) {
+            emailsByUserId.remove(entry.future().join().getUserInfo().getId(), email);
+        }
+    }
+
+    private static UserInfoUserDetails await(Entry entry) {
+        try {
+            return entry.future().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(CompletableFuture<UserInfoUserDetails> future, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
@@ -10,10 +10,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class UserInfoUserDetails implements UserDetails {
-    private String email;
-    private String password;
-    private List<GrantedAuthority> authorities;
-    private UserInfo userInfo;
+    private final String email;
+    private final String password;
+    //roles 문자열은 생성시 한번만 파싱해서 immutable List 로 보관
+    private final List<GrantedAuthority> authorities;
+    private final UserInfo userInfo;
 
     public UserInfoUserDetails(UserInfo userInfo) {
         this.userInfo = userInfo;
@@ -22,7 +23,7 @@ public class UserInfoUserDetails implements UserDetails {
         this.authorities= Arrays.stream(userInfo.getRoles().split(","))
                 //.map(roleName -> new SimpleGrantedAuthority(roleName))
                 .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.boot3.myrestapi.security.userinfo;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -9,17 +10,33 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
-public class UserInfoUserDetailsService implements UserDetailsService {
+public class UserInfoUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserInfoRepository repository;
+    @Autowired
+    private UserInfoPrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
+        //캐시에 없을 때만 DB 조회
+        return principalCache.get(username, this::loadFromRepository);
+    }
+
+    //로그인시 DaoAuthenticationProvider 가 다시 해싱한 비밀번호를 저장 (UserInfoChangeListener 가 캐시를 제거함)
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserInfo userInfo = repository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("user not found " + user.getUsername()));
+        userInfo.setPassword(newPassword);
+        return new UserInfoUserDetails(repository.save(userInfo));
+    }
+
+    private UserInfoUserDetails loadFromRepository(String username) {
         Optional<UserInfo> optionalUserInfo = repository.findByEmail(username);
         // UserInfo => UserInfoUserDetails
         return //optionalUserInfo.map(userInfo -> new UserInfoUserDetails(userInfo))
                  optionalUserInfo.map(UserInfoUserDetails::new)
                 .orElseThrow(() -> new UsernameNotFoundException("user not found " + username));
     }
-}
\ No newline at end of file
+}
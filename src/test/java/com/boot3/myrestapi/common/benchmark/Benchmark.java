@@ -0,0 +1,128 @@
+package com.boot3.myrestapi.common.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    -Dbenchmark=true 로 실행하는 benchmark 테스트의 공통 측정/보고
+    - measure : warmUp 회 실행 후 iterations 회 실행하면서 호출별 시간과 현재 thread 의 할당량을 측정
+    - peakHeap : 작업을 실행하는 동안 heap 사용량의 최대값
+    - report : 결과를 SLF4J(INFO)로 기록
+    각 테스트는 측정할 작업(요청 한번)만 넘긴다.
+ */
+public final class Benchmark {
+    private static final Logger log = LoggerFactory.getLogger(Benchmark.class);
+
+    //JIT 가 결과를 사용하지 않는 호출을 제거하지 않도록 마지막 결과를 보관
+    private static volatile Object sink;
+
+    private Benchmark() {
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        Object run() throws Exception;
+    }
+
+    public static Timings measure(int warmUp, int iterations, Task task) throws Exception {
+        for (int i = 0; i < warmUp; i++) {
+            sink = task.run();
+        }
+        long[] nanos = new long[iterations];
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long callStart = System.nanoTime();
+            sink = task.run();
+            nanos[i] = System.nanoTime() - callStart;
+        }
+        long totalNanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        Arrays.sort(nanos);
+        return new Timings(nanos, totalNanos, allocated);
+    }
+
+    //작업을 실행하는 동안 별도 thread 에서 heap 사용량을 계속 읽어 최대값을 반환
+    public static long peakHeap(Task task) throws Exception {
+        System.gc();
+        AtomicLong peak = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            Runtime runtime = Runtime.getRuntime();
+            while (running.get()) {
+                peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                Thread.onSpinWait();
+            }
+        });
+        sampler.start();
+        try {
+            sink = task.run();
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+        return peak.get();
+    }
+
+    //GC 후 heap 사용량
+    public static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    //현재 thread 가 지금까지 할당한 byte 수
+    public static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    //정렬된 값에서 percentile(0 ~ 1) 위치의 값
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))];
+    }
+
+    //String.format 형식
+    public static void report(String format, Object... args) {
+        if (log.isInfoEnabled()) {
+            log.info(String.format(format, args));
+        }
+    }
+
+    //호출별 시간(정렬됨), 전체 시간, 전체 할당량
+    public record Timings(long[] sortedNanos, long totalNanos, long allocatedBytes) {
+        public double averageMicros() {
+            return totalNanos / 1_000.0 / sortedNanos.length;
+        }
+
+        public double averageMillis() {
+            return totalNanos / 1_000_000.0 / sortedNanos.length;
+        }
+
+        public double percentileMicros(double percentile) {
+            return Benchmark.percentile(sortedNanos, percentile) / 1_000.0;
+        }
+
+        public double percentileMillis(double percentile) {
+            return Benchmark.percentile(sortedNanos, percentile) / 1_000_000.0;
+        }
+
+        //전체 시간 동안 처리한 units 의 초당 처리량
+        public double perSecond(long units) {
+            return units * 1_000_000_000.0 / totalNanos;
+        }
+
+        public long allocatedBytesPerCall() {
+            return allocatedBytes / sortedNanos.length;
+        }
+    }
+}
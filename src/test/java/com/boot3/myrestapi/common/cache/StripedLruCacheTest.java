@@ -0,0 +1,38 @@
+package com.boot3.myrestapi.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedLruCacheTest {
+
+    @Test
+    void sizeStaysWithinMaxSize() {
+        List<String> evicted = new ArrayList<>();
+        StripedLruCache<String, Integer> cache = new StripedLruCache<>(10_000, (key, value) -> evicted.add(key));
+
+        for (int i = 0; i < 30_000; i++) {
+            cache.putIfAbsent("key" + i, i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10_000);
+        assertThat(cache.size() + evicted.size()).isEqualTo(30_000);
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() {
+        StripedLruCache<String, Integer> cache = new StripedLruCache<>(2, (key, value) -> { });
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+}
@@ -0,0 +1,22 @@
+package com.boot3.myrestapi.common.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.UUID;
+
+/*
+    테스트의 ApplicationContext 마다 다른 in-memory DB 이름 (test.database-name)
+    설정(properties)이 다른 context 가 같은 DB 를 다시 만들면(ddl-auto) 캐시된 다른 context 의 데이터와 sequence 가 초기화되므로
+    JDBC 와 R2DBC URL 이 같은 이름을 사용하도록 context 당 한번만 정함
+ */
+public class TestDatabaseNamePostProcessor implements EnvironmentPostProcessor {
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        environment.getPropertySources().addLast(new MapPropertySource("testDatabaseName",
+                Map.of("test.database-name", "testdb-" + UUID.randomUUID())));
+    }
+}
@@ -0,0 +1,74 @@
+package com.boot3.myrestapi.common.exception;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.security.exception.InvalidJwtException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    401 응답 1건당 할당되는 메모리(byte)를 같은 실행에서 측정한 이전 구현과 비교
+    이전 구현 : 요청마다 ObjectMapper/DateTimeFormatter 생성, pretty print, stack trace 와 원인 예외를 채운 예외
+    현재 구현 : 공유 ErrorResponseWriter, 캐시된 timestamp, stack trace 와 원인 예외가 없는 InvalidJwtException
+    할당량의 절대값은 JVM 버전/옵션에 따라 다르므로 비율로 확인
+ */
+class ErrorResponseAllocationTest {
+    private static final int WARM_UP = 500;
+    private static final int ITERATIONS = 2_000;
+    //현재 구현은 이전 구현의 이 비율 이하만 할당 (측정값은 약 1/10)
+    private static final double MAX_RATIO_TO_LEGACY = 0.25;
+
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(new ObjectMapper());
+
+    @Test
+    void invalidJwtExceptionHasNoStackTraceOrCause() {
+        InvalidJwtException exception = new InvalidJwtException("JWT was expired or incorrect");
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getCause()).isNull();
+    }
+
+    @Test
+    void rejectedRequestAllocatesFractionOfLegacyPath() throws Exception {
+        long legacy = Benchmark.measure(WARM_UP, ITERATIONS, this::legacyRejection).allocatedBytesPerCall();
+        long current = Benchmark.measure(WARM_UP, ITERATIONS, this::currentRejection).allocatedBytesPerCall();
+
+        assertThat((double) current).isLessThanOrEqualTo(legacy * MAX_RATIO_TO_LEGACY);
+    }
+
+    private MockHttpServletResponse legacyRejection() throws Exception {
+        AuthenticationCredentialsNotFoundException exception = new AuthenticationCredentialsNotFoundException(
+                "JWT was expired or incorrect",
+                new IllegalArgumentException("invalid signature").fillInStackTrace());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("application/json;charset=UTF-8");
+        response.setStatus(401);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Object> errorObject = new LinkedHashMap<>();
+        errorObject.put("statusCode", 401);
+        errorObject.put("message", exception.getMessage());
+        errorObject.put("timestamp",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss E a", Locale.KOREA).format(LocalDateTime.now()));
+        String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(errorObject);
+        response.getWriter().write(json);
+        return response;
+    }
+
+    private MockHttpServletResponse currentRejection() throws Exception {
+        InvalidJwtException exception = new InvalidJwtException("JWT was expired or incorrect");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        errorResponseWriter.write(response, 401, exception.getMessage());
+        return response;
+    }
+}
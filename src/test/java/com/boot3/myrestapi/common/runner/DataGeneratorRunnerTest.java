@@ -0,0 +1,54 @@
+package com.boot3.myrestapi.common.runner;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    같은 seed 로 만든 Lecture 데이터는 수정시각 modified_at 컬럼까지 항상 같아야 함
+ */
+class DataGeneratorRunnerTest {
+
+    @Test
+    void sameSeedGeneratesSameLectures() {
+        List<Object[]> first = generator(42).generateLectures(1, 5000, 10000, List.of(1, 2, 3));
+        List<Object[]> second = generator(42).generateLectures(1, 5000, 10000, List.of(1, 2, 3));
+        List<Object[]> otherSeed = generator(7).generateLectures(1, 5000, 10000, List.of(1, 2, 3));
+
+        assertThat(first).hasSize(5000);
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(first.get(i)).containsExactly(second.get(i));
+        }
+        assertThat(first.get(0)).isNotEqualTo(otherSeed.get(0));
+    }
+
+    @Test
+    void generatedDatesAndPricesAreConsistent() {
+        for (Object[] row : generator(42).generateLectures(1, 0, 5000, List.of(1, 2))) {
+            Timestamp beginEnrollment = (Timestamp) row[3];
+            Timestamp closeEnrollment = (Timestamp) row[4];
+            Timestamp beginLecture = (Timestamp) row[5];
+            Timestamp endLecture = (Timestamp) row[6];
+            assertThat(beginEnrollment).isBefore(closeEnrollment);
+            assertThat(closeEnrollment).isBefore(beginLecture);
+            assertThat(beginLecture).isBefore(endLecture);
+            assertThat((Timestamp) row[15]).isBefore(beginEnrollment);
+
+            int basePrice = (int) row[8];
+            int maxPrice = (int) row[9];
+            assertThat(maxPrice == 0 || maxPrice >= basePrice).isTrue();
+            assertThat(row[12]).isEqualTo(basePrice == 0 && maxPrice == 0);
+        }
+    }
+
+    private static DataGeneratorRunner generator(long seed) {
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setSeed(seed);
+        DataGeneratorRunner runner = new DataGeneratorRunner();
+        runner.properties = properties;
+        return runner;
+    }
+}
@@ -0,0 +1,160 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    POST /api/lectures/batch : 항목별 오류(201/400), 최대 건수, JDBC batch insert 검증
+    CLAIMS 모드 토큰을 사용해서 인증 단계의 SQL 은 제외함
+ */
+@SpringBootTest(properties = {
+        "jwt.auth-mode=CLAIMS",
+        "ratelimit.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureBatchControllerTest {
+    private static final int MAX_BATCH_ITEMS = 1000;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private String bearerToken;
+    private final List<Integer> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bearerToken = "Bearer " + jwtService.issueToken(userInfoRepository.findByEmail("admin@aa.com").orElseThrow());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (!createdIds.isEmpty()) {
+            lectureRepository.deleteAllByIdInBatch(createdIds);
+        }
+    }
+
+    @Test
+    void validItemsAreCreatedAndInvalidItemsAreReportedByIndex() throws Exception {
+        LectureReqDto wrongPrice = reqDto("wrong price");
+        wrongPrice.setBasePrice(300);
+
+        String body = perform(List.of(reqDto("batch 0"), wrongPrice, reqDto(" "), reqDto("batch 3")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created.length()").value(2))
+                .andExpect(jsonPath("$.created[0].name").value("batch 0"))
+                .andExpect(jsonPath("$.created[1].name").value("batch 3"))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[1].index").value(2))
+                .andExpect(jsonPath("$._links.query-lectures").exists())
+                .andReturn().getResponse().getContentAsString();
+        objectMapper.readTree(body).path("created").forEach(created -> createdIds.add(created.path("id").asInt()));
+
+        assertThat(lectureRepository.findAllById(createdIds)).hasSize(2);
+    }
+
+    @Test
+    void allInvalidItemsIsBadRequest() throws Exception {
+        long count = lectureRepository.count();
+
+        perform(List.of(reqDto(" "), reqDto("")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.created").isEmpty())
+                .andExpect(jsonPath("$.errors.length()").value(2));
+
+        assertThat(lectureRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    void moreThanMaxItemsIsRejected() throws Exception {
+        long count = lectureRepository.count();
+
+        //항목 검증 전에 건수로 거절
+        perform(Collections.nCopies(MAX_BATCH_ITEMS + 1, Map.of()))
+                .andExpect(status().isBadRequest());
+
+        assertThat(lectureRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    void insertsAreBatched() throws Exception {
+        int items = 120;
+        List<LectureReqDto> reqDtos = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            reqDtos.add(reqDto("batch " + i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String body = perform(reqDtos)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        objectMapper.readTree(body).path("created").forEach(created -> createdIds.add(created.path("id").asInt()));
+
+        assertThat(createdIds).hasSize(items);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(items);
+        //insert 는 chunk(50건) 마다 한번 prepare 되고, id 는 sequence 에서 50개씩 할당 (한건씩 insert 하면 120 이상)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    private ResultActions perform(List<?> items) throws Exception {
+        return mockMvc.perform(post("/api/lectures/batch")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(items)));
+    }
+
+    private static LectureReqDto reqDto(String name) {
+        return LectureReqDto.builder()
+                .name(name)
+                .description("Batch Lecture")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.common.config.BinaryJsonConfig;
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.dto.LectureResDto;
+import com.boot3.myrestapi.lectures.dto.hateoas.LectureResource;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    Accept / Content-Type 이 application/x-jackson-smile, application/cbor 인 요청과 응답
+    benchmark 는 -Dbenchmark=true 일 때만 실행
+ */
+@SpringBootTest(properties = {
+        "jwt.auth-mode=CLAIMS",
+        "ratelimit.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureBinaryContentTest {
+    private static final MediaType SMILE = MediaType.valueOf(BinaryJsonConfig.APPLICATION_SMILE_VALUE);
+    private static final MediaType CBOR = MediaType.valueOf(BinaryJsonConfig.APPLICATION_CBOR_VALUE);
+    private static final int PAGE_SIZE = 200;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    RequestMappingHandlerAdapter handlerAdapter;
+
+    private final ObjectMapper smileMapper = new SmileMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private String bearerToken;
+
+    @BeforeEach
+    void setUp() {
+        bearerToken = "Bearer " + jwtService.issueToken(userInfoRepository.findByEmail("admin@aa.com").orElseThrow());
+    }
+
+    @Test
+    void smilePageKeepsHalLinksAndNumericDates() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode root = smileMapper.readTree(body);
+        assertThat(root.path("_links").path("self").path("href").isTextual()).isTrue();
+        JsonNode first = root.path("_embedded").path("lectureResourceList").get(0);
+        assertThat(first.path("_links").path("self").path("href").asText()).contains("/api/lectures/");
+        assertThat(first.path("beginLectureDateTime").isNumber()).isTrue();
+    }
+
+    @Test
+    void cborRequestBodyIsAccepted() throws Exception {
+        LocalDateTime begin = LocalDateTime.of(2024, 11, 25, 14, 21);
+        LectureReqDto lectureReqDto = LectureReqDto.builder()
+                .name("CBOR")
+                .description("binary request body")
+                .beginEnrollmentDateTime(begin.minusDays(2))
+                .closeEnrollmentDateTime(begin.minusDays(1))
+                .beginLectureDateTime(begin)
+                .endLectureDateTime(begin.plusDays(1))
+                .limitOfEnrollment(100)
+                .build();
+        //날짜는 epoch seconds 숫자로 전송
+        byte[] requestBody = cborMapper.writeValueAsBytes(cborMapper.createObjectNode()
+                .put("name", lectureReqDto.getName())
+                .put("description", lectureReqDto.getDescription())
+                .put("beginEnrollmentDateTime", epochSeconds(lectureReqDto.getBeginEnrollmentDateTime()))
+                .put("closeEnrollmentDateTime", epochSeconds(lectureReqDto.getCloseEnrollmentDateTime()))
+                .put("beginLectureDateTime", epochSeconds(lectureReqDto.getBeginLectureDateTime()))
+                .put("endLectureDateTime", epochSeconds(lectureReqDto.getEndLectureDateTime()))
+                .put("limitOfEnrollment", lectureReqDto.getLimitOfEnrollment()));
+
+        byte[] body = mockMvc.perform(post("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = cborMapper.readTree(body);
+        assertThat(created.path("beginLectureDateTime").asLong()).isEqualTo(epochSeconds(begin));
+        assertThat(created.path("_links").path("self").path("href").asText()).contains("/api/lectures/");
+    }
+
+    @Test
+    void errorShapesAreKept() throws Exception {
+        //ErrorsResource (validation 오류)
+        byte[] body = mockMvc.perform(post("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(smileMapper.createObjectNode().put("name", ""))))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode errors = smileMapper.readTree(body);
+        assertThat(errors.path("_links").path("index").path("href").isTextual()).isTrue();
+
+        //ProblemDetail (BusinessException) : Spring 은 binary 형식 대신 RFC 9457 의 application/problem+json 으로 응답
+        body = mockMvc.perform(get("/api/lectures/{id}", Integer.MAX_VALUE)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(SMILE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode problem = new ObjectMapper().readTree(body);
+        assertThat(problem.path("status").asInt()).isEqualTo(404);
+        assertThat(problem.path("detail").asText()).contains("Not Found");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void serializationBenchmark() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            PagedModel<LectureResource> page = samplePage();
+            for (MediaType mediaType : new MediaType[]{MediaTypes.HAL_JSON, SMILE, CBOR}) {
+                ObjectMapper objectMapper = objectMapperFor(mediaType);
+                byte[] bytes = objectMapper.writeValueAsBytes(page);
+                double serialize = Benchmark.measure(ITERATIONS / 4, ITERATIONS,
+                        () -> objectMapper.writeValueAsBytes(page)).averageMicros();
+                double deserialize = Benchmark.measure(ITERATIONS / 4, ITERATIONS,
+                        () -> objectMapper.readTree(bytes)).averageMicros();
+                Benchmark.report("%-28s : %6d bytes/page, serialize %4.0f us, deserialize %4.0f us",
+                        mediaType, bytes.length, serialize, deserialize);
+            }
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    //application/hal+json 은 별도 converter 가 아니라 JSON converter 에 RepresentationModel 용 ObjectMapper 로 등록됨
+    private ObjectMapper objectMapperFor(MediaType mediaType) {
+        return handlerAdapter.getMessageConverters().stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .map(converter -> converter.getObjectMappersForType(PagedModel.class).getOrDefault(mediaType,
+                        converter.getSupportedMediaTypes().contains(mediaType) ? converter.getObjectMapper() : null))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static PagedModel<LectureResource> samplePage() {
+        LocalDateTime begin = LocalDateTime.of(2024, 11, 25, 14, 21);
+        List<LectureResource> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            content.add(new LectureResource(new LectureResDto(i, "Lecture " + i, "Test Lecture " + i,
+                    begin.minusDays(2), begin.minusDays(1), begin.plusHours(i), begin.plusHours(i + 2),
+                    (i % 50 + 1) + " 강의장", 100, 200, 100, true, false, "admin@aa.com", 0L, begin)));
+        }
+        return PagedModel.of(content, new PagedModel.PageMetadata(PAGE_SIZE, 0, PAGE_SIZE * 10L));
+    }
+
+    private static long epochSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,221 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.config.BinaryJsonConfig;
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    ETag / If-None-Match(304), If-Match(412) 검증
+    HAL, application/json, Smile, CBOR 응답은 서로 다른 ETag
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureConditionalRequestTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+
+    private String bearerToken;
+    private Integer lectureId;
+
+    @BeforeEach
+    void setUp() {
+        UserInfo admin = userInfoRepository.findByEmail("admin@aa.com").orElseThrow();
+        bearerToken = "Bearer " + jwtService.issueToken(admin);
+        Lecture lecture = Lecture.builder()
+                .name("Conditional")
+                .description("ETag test")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .limitOfEnrollment(100)
+                .userInfo(admin)
+                .build();
+        lectureId = lectureRepository.save(lecture).getId();
+    }
+
+    @Test
+    void ifNoneMatchReturnsNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateChangesETagAndStaleIfMatchIsRejected() throws Exception {
+        String eTag = mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String newETag = mockMvc.perform(put("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reqDto("Updated once"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        //이전 ETag 로 수정하면 412
+        mockMvc.perform(put("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reqDto("Updated twice"))))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(lectureRepository.findById(lectureId).orElseThrow().getName()).isEqualTo("Updated once");
+    }
+
+    @Test
+    void eachRepresentationHasItsOwnETag() throws Exception {
+        List<MediaType> mediaTypes = List.of(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON,
+                BinaryJsonConfig.APPLICATION_SMILE, BinaryJsonConfig.APPLICATION_CBOR);
+        Set<String> lectureETags = new HashSet<>();
+        Set<String> pageETags = new HashSet<>();
+        for (MediaType mediaType : mediaTypes) {
+            lectureETags.add(mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                            .accept(mediaType))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(mediaType))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+            pageETags.add(mockMvc.perform(get("/api/lectures")
+                            .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                            .accept(mediaType))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(mediaType))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+        }
+        assertThat(lectureETags).hasSize(mediaTypes.size());
+        assertThat(pageETags).hasSize(mediaTypes.size());
+    }
+
+    @Test
+    void halETagDoesNotValidateBinaryRepresentation() throws Exception {
+        String halETag = mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaTypes.HAL_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, halETag)
+                        .accept(BinaryJsonConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryJsonConfig.APPLICATION_SMILE));
+
+        //If-Match 는 표현과 관계없이 version 만 비교
+        String cborETag = mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(BinaryJsonConfig.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(put("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, cborETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reqDto("Updated with CBOR ETag"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ownerEmailChangeChangesETag() throws Exception {
+        UserInfo owner = new UserInfo();
+        owner.setName("owner");
+        owner.setEmail(UUID.randomUUID() + "@etag.com");
+        owner.setPassword("{noop}pwd");
+        owner.setRoles("ROLE_USER");
+        owner.setUserId(UUID.randomUUID().toString());
+        owner = userInfoRepository.save(owner);
+        Lecture lecture = lectureRepository.findById(lectureId).orElseThrow();
+        lecture.setUserInfo(owner);
+        lectureRepository.save(lecture);
+
+        String eTag = mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String pageETag = mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .param("size", "1000"))
+                .andExpect(status().isOk())
+                //페이지는 ETag 로만 검증
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        owner.setEmail(UUID.randomUUID() + "@etag.com");
+        userInfoRepository.save(owner);
+
+        mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(owner.getEmail()));
+        mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .param("size", "1000")
+                        .header(HttpHeaders.IF_NONE_MATCH, pageETag))
+                .andExpect(status().isOk());
+    }
+
+    private static LectureReqDto reqDto(String name) {
+        return LectureReqDto.builder()
+                .name(name)
+                .description("ETag test")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.lectures.dto.LectureFields;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    ?fields= 로 요청한 property 만 조회/응답하는지 검증
+    benchmark 는 -Dbenchmark=true 일 때만 실행
+ */
+@SpringBootTest(properties = {
+        "jwt.auth-mode=CLAIMS",
+        "ratelimit.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureFieldsTest {
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+
+    private String bearerToken;
+    private Integer lectureId;
+
+    @BeforeEach
+    void setUp() {
+        UserInfo admin = userInfoRepository.findByEmail("admin@aa.com").orElseThrow();
+        bearerToken = "Bearer " + jwtService.issueToken(admin);
+        //email 을 조회할 수 있도록 등록한 User 가 있는 Lecture
+        lectureId = lectureRepository.save(Lecture.builder()
+                .name("Fields")
+                .description("Sparse fieldset test")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .limitOfEnrollment(100)
+                .userInfo(admin)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lectureRepository.deleteById(lectureId);
+    }
+
+    @Test
+    void pageContainsOnlyRequestedFields() throws Exception {
+        String body = mockMvc.perform(get("/api/lectures")
+                        .param("fields", "name,beginLectureDateTime,location")
+                        .param("size", "5")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode items = objectMapper.readTree(body).path("_embedded").elements().next();
+        assertThat(items).isNotEmpty();
+        for (JsonNode item : items) {
+            List<String> names = new ArrayList<>();
+            item.fieldNames().forEachRemaining(names::add);
+            //HAL 의 _links 위치와 관계없이 property 는 요청한 순서(id 는 항상 포함)
+            assertThat(names.remove("_links")).isTrue();
+            assertThat(names).containsExactly("id", "name", "beginLectureDateTime", "location");
+            assertThat(item.path("_links").path("self").path("href").asText()).endsWith("/api/lectures/" + item.get("id").asInt());
+        }
+    }
+
+    @Test
+    void singleLectureWithEmailAsApplicationJson() throws Exception {
+        mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .param("fields", "name,email")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(lectureId))
+                .andExpect(jsonPath("$.name").exists())
+                .andExpect(jsonPath("$.email").value("admin@aa.com"))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$._links").doesNotExist());
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/lectures")
+                        .param("fields", "name,password")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void tupleSelectsOnlyRequestedColumns() {
+        Tuple tuple = lectureRepository.findTupleById(lectureId, LectureFields.of("name")).orElseThrow();
+
+        //id + name, email 을 요청하지 않았으므로 UserInfo 컬럼 없음
+        assertThat(tuple.getElements()).hasSize(2);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void fieldsBenchmark() throws Exception {
+        String[] cases = {null, "name,beginLectureDateTime,location"};
+        for (String fields : cases) {
+            int bytes = fetchPage(fields);
+            double micros = Benchmark.measure(ITERATIONS / 5, ITERATIONS, () -> fetchPage(fields)).averageMicros();
+            Benchmark.report("fields = %-36s : %d bytes/page, %.0f us/request", fields, bytes, micros);
+        }
+    }
+
+    private int fetchPage(String fields) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/lectures")
+                .param("size", "200")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .accept(MediaTypes.HAL_JSON);
+        if (fields != null) {
+            request.param("fields", fields);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,122 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.common.monitor.VirtualThreadPinningMonitor;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    GET /api/lectures/{id} 를 동시 client 100, 1,000, 10,000 개가 정해진 시간 동안 반복 요청 (closed loop)
+    PlatformThreadLoadTest / VirtualThreadLoadTest 가 Tomcat thread 모델만 바꿔서 같은 시나리오를 실행함
+    - -Dbenchmark=true 일 때만 실행, 단계별 시간은 -Dload.seconds (기본 10초)
+    - client 10,000 개는 연결도 10,000 개이므로 open file 제한(ulimit -n)을 늘려서 실행
+ */
+abstract class LectureLoadScenario {
+    private static final int[] CLIENTS = {100, 1_000, 10_000};
+
+    @LocalServerPort
+    int port;
+    @Value("${load.seconds:10}")
+    long seconds;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @Test
+    void loadScenario() throws Exception {
+        String token = jwtService.issueToken(userInfoRepository.findByEmail("admin@aa.com").orElseThrow());
+        Integer lectureId = lectureRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/lectures/" + lectureId))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+            run(client, request, CLIENTS[0], Duration.ofSeconds(3));
+            for (int clients : CLIENTS) {
+                Result result = run(client, request, clients, Duration.ofSeconds(seconds));
+                Benchmark.report("%-8s clients = %6d : %8.0f req/s, p50 = %5d ms, p99 = %5d ms, errors = %d",
+                        threadModel(), clients, result.throughput(), result.p50Millis(), result.p99Millis(),
+                        result.errors());
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+        pinningMonitor.ifAvailable(monitor ->
+                Benchmark.report("%-8s pinned virtual threads : %d", threadModel(), monitor.getPinnedCount()));
+    }
+
+    abstract String threadModel();
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder errors = new LongAdder();
+        List<List<Long>> latencies = new ArrayList<>(clients);
+        List<CompletableFuture<Void>> loops = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            List<Long> clientLatencies = new ArrayList<>();
+            latencies.add(clientLatencies);
+            loops.add(loop(client, request, deadline, clientLatencies, errors));
+        }
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted.length / elapsedSeconds, Benchmark.percentile(sorted, 0.50) / 1_000_000,
+                Benchmark.percentile(sorted, 0.99) / 1_000_000, errors.sum());
+    }
+
+    //client 하나는 응답을 받으면 다음 요청을 보냄 (요청 중인 client 당 thread 를 사용하지 않음)
+    private static CompletableFuture<Void> loop(HttpClient client, HttpRequest request, long deadline,
+                                                List<Long> latencies, LongAdder errors) {
+        long start = System.nanoTime();
+        if (start >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, throwable) -> {
+                    if (throwable != null || response.statusCode() != 200) {
+                        errors.increment();
+                    } else {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, request, deadline, latencies, errors));
+    }
+
+    private record Result(double throughput, long p50Millis, long p99Millis, long errors) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    요청당 실행되는 SQL 수 검증 (N+1 재발 방지)
+    CLAIMS 모드 토큰을 사용해서 인증 단계의 SQL 은 제외함
+ */
+@SpringBootTest(properties = {
+        "jwt.auth-mode=CLAIMS",
+        "ratelimit.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureQueryCountTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private String bearerToken;
+    private Integer lectureId;
+    private Statistics statistics;
+    //수정 테스트용으로 만든 Lecture (공유 데이터는 수정하지 않음)
+    private Integer createdLectureId;
+
+    @BeforeEach
+    void setUp() {
+        bearerToken = "Bearer " + jwtService.issueToken(userInfoRepository.findByEmail("admin@aa.com").orElseThrow());
+        lectureId = lectureRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (createdLectureId != null) {
+            lectureRepository.deleteById(createdLectureId);
+        }
+    }
+
+    @Test
+    void queryLecturesRunsPageAndCountStatementsOnly() throws Exception {
+        mockMvc.perform(get("/api/lectures")
+                        .param("page", "0")
+                        .param("size", "10")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk());
+
+        //page 조회 1 + count 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cursorPagesRunSingleStatementWithoutCount() throws Exception {
+        long total = lectureRepository.count();
+        statistics.clear();
+
+        Set<Integer> ids = new HashSet<>();
+        String after = "";
+        int pages = 0;
+        while (after != null) {
+            String body = mockMvc.perform(get("/api/lectures")
+                            .param("after", after)
+                            .param("size", "3")
+                            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            pages++;
+            JsonNode root = objectMapper.readTree(body);
+            root.path("_embedded").path("lectureResourceList")
+                    .forEach(node -> ids.add(node.get("id").asInt()));
+            JsonNode next = root.path("_links").path("next").path("href");
+            after = next.isMissingNode() ? null
+                    : UriComponentsBuilder.fromUriString(next.asText()).build().getQueryParams().getFirst("after");
+        }
+
+        //모든 Lecture 를 중복없이 한번씩 조회하고, 페이지당 SQL 은 1건 (count 쿼리 없음)
+        assertThat(ids).hasSize((int) total);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    @Test
+    void getLectureRunsSingleStatement() throws Exception {
+        mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateLectureRunsSelectAndUpdateOnly() throws Exception {
+        createdLectureId = lectureRepository.save(Lecture.builder()
+                .name("Query count")
+                .description("Update statement count")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .limitOfEnrollment(100)
+                .build()).getId();
+        statistics.clear();
+        LectureReqDto lectureReqDto = LectureReqDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                //정원이 바뀌면 수강 신청 좌석 조정 SQL 이 추가되므로 정원은 그대로 둠
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+
+        mockMvc.perform(put("/api/lectures/{id}", createdLectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lectureReqDto)))
+                .andExpect(status().isOk());
+
+        //fetch join 조회 1 + update 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
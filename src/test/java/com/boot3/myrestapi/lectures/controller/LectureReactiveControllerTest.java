@@ -0,0 +1,116 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    /rx/api/lectures (R2DBC) 조회 : 응답은 Servlet async 로 완료되므로 asyncDispatch 로 결과를 확인
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureReactiveControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+
+    private String bearerToken;
+
+    @BeforeEach
+    void setUp() {
+        bearerToken = "Bearer " + jwtService.issueToken(userInfoRepository.findByEmail("admin@aa.com").orElseThrow());
+    }
+
+    @Test
+    void getLectureReturnsSameShapeAsResDto() throws Exception {
+        Integer lectureId = lectureRepository.findAll(Sort.by("id")).get(0).getId();
+
+        MvcResult mvcResult = mockMvc.perform(get("/rx/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(lectureId))
+                .andExpect(jsonPath("$.beginLectureDateTime").isString())
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andExpect(jsonPath("$._links").doesNotExist());
+    }
+
+    @Test
+    void unknownLectureIsNotFound() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/rx/api/lectures/{id}", Integer.MAX_VALUE)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void requestWithoutTokenIsRejected() throws Exception {
+        mockMvc.perform(get("/rx/api/lectures"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void pageAndStreamReturnLecturesInIdOrder() throws Exception {
+        List<Integer> ids = lectureRepository.findAll(Sort.by("id")).stream().map(lecture -> lecture.getId()).toList();
+
+        MvcResult page = mockMvc.perform(get("/rx/api/lectures")
+                        .param("page", "0")
+                        .param("size", "3")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(page))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].id").value(ids.get(0)))
+                .andExpect(jsonPath("$.totalElements").value(ids.size()));
+
+        MvcResult stream = mockMvc.perform(get("/rx/api/lectures")
+                        .param("after", String.valueOf(ids.get(0)))
+                        .param("limit", "4")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertThat(lines).hasSize(Math.min(4, ids.size() - 1));
+        assertThat(lines.get(0)).contains("\"id\":" + ids.get(1));
+    }
+}
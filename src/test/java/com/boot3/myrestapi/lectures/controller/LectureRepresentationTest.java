@@ -0,0 +1,159 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.lectures.dto.hateoas.LectureLinks;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    Accept 헤더에 따른 HAL / application/json(link 없음) 응답 비교
+    benchmark 는 -Dbenchmark=true 일 때만 실행
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureRepresentationTest {
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    private String bearerToken;
+
+    @BeforeEach
+    void setUp() {
+        UserInfo admin = userInfoRepository.findByEmail("admin@aa.com").orElseThrow();
+        bearerToken = "Bearer " + jwtService.issueToken(admin);
+    }
+
+    @Test
+    void applicationJsonOmitsLinks() throws Exception {
+        mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(jsonPath("$._links").doesNotExist())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.totalElements").exists());
+    }
+
+    @Test
+    void halJsonKeepsLinksAndDiffersInETag() throws Exception {
+        String halETag = mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON))
+                .andExpect(jsonPath("$._links.self").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String compactETag = mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(halETag).isNotEqualTo(compactETag);
+    }
+
+    @Test
+    void qualityValuesDecideRepresentation() throws Exception {
+        //HAL 이 함께 있어도 q 값이 낮으면 link 없는 응답
+        mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.ACCEPT, "application/hal+json;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$._links").doesNotExist());
+        mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.ACCEPT, "application/hal+json, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON))
+                .andExpect(jsonPath("$._links.self").exists());
+        //Accept 가 없으면 HAL
+        mockMvc.perform(get("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON));
+    }
+
+    @Test
+    void cachedLinkEqualsLinkBuilderLink() {
+        withRequest(() -> assertThat(LectureLinks.self(7).getHref())
+                .isEqualTo(linkTo(LectureController.class).slash(7).withSelfRel().getHref()));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void representationBenchmark() throws Exception {
+        for (MediaType mediaType : new MediaType[]{MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON}) {
+            int bytes = fetchPage(mediaType);
+            Benchmark.Timings timings = Benchmark.measure(WARM_UP, ITERATIONS, () -> fetchPage(mediaType));
+            Benchmark.report("%-20s : %d bytes/page, allocated %d bytes/request, p50 = %.0f us, p99 = %.0f us",
+                    mediaType, bytes, timings.allocatedBytesPerCall(),
+                    timings.percentileMicros(0.5), timings.percentileMicros(0.99));
+        }
+
+        //link 생성 비용 비교 : linkTo(...).slash(id) vs LectureLinks.self(id)
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            int[] id = {0};
+            long legacy = Benchmark.measure(0, ITERATIONS * 20,
+                    () -> linkTo(LectureController.class).slash(id[0]++).withSelfRel()).allocatedBytesPerCall();
+            long cached = Benchmark.measure(0, ITERATIONS * 20,
+                    () -> LectureLinks.self(id[0]++)).allocatedBytesPerCall();
+            Benchmark.report("allocated bytes per self link : linkTo = %d, LectureLinks = %d", legacy, cached);
+            assertThat(cached).isLessThan(legacy);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private int fetchPage(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/api/lectures").param("size", "20")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(mediaType))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray().length;
+    }
+
+    private static void withRequest(Runnable runnable) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            runnable.run();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.models.LectureStatus;
+import com.boot3.myrestapi.lectures.service.LectureImportService;
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    open-in-view 를 끈 상태에서 Lecture API 가 transaction 밖에서 지연 로딩을 하지 않는지 검증
+    transaction 밖에서 지연 로딩하면 LazyInitializationException(500) 이 발생하므로 모든 요청이 2xx 여야 함
+    테스트에서 만든 Lecture(description 이 DESCRIPTION)와 수강신청, 가져오기 파일은 테스트마다 삭제
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LectureTransactionBoundaryTest {
+    private static final String DESCRIPTION = "Transaction boundary test";
+    private static final String IMPORT_ID = "transaction-boundary-test";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    ApplicationContext applicationContext;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    LectureImportService lectureImportService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${lectures.import.work-dir}")
+    String importWorkDir;
+
+    private String bearerToken;
+    private Integer lectureId;
+
+    @BeforeEach
+    void setUp() {
+        UserInfo admin = userInfoRepository.findByEmail("admin@aa.com").orElseThrow();
+        bearerToken = "Bearer " + jwtService.issueToken(admin);
+        Lecture lecture = Lecture.builder()
+                .name("Boundary")
+                .description(DESCRIPTION)
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .limitOfEnrollment(100)
+                .lectureStatus(LectureStatus.BEGAN_ENROLLMENT)
+                .userInfo(admin)
+                .build();
+        lectureId = lectureRepository.save(lecture).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jdbcTemplate.update("delete from enrollments where lecture_id in "
+                + "(select id from lectures where description = ?)", DESCRIPTION);
+        jdbcTemplate.update("delete from lectures where description = ?", DESCRIPTION);
+        Files.deleteIfExists(lectureImportService.rejectFile(Path.of(importWorkDir), IMPORT_ID));
+    }
+
+    @Test
+    void openInViewIsDisabled() {
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void lazyAssociationOutsideTransactionFails() {
+        Lecture lecture = lectureRepository.findById(lectureId).orElseThrow();
+
+        assertThatThrownBy(() -> lecture.getUserInfo().getEmail())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    void lectureApiDoesNotLoadLazilyOutsideTransaction() throws Exception {
+        for (String uri : List.of(
+                "/api/lectures/" + lectureId,
+                "/api/lectures/" + lectureId + "?fields=name,email",
+                "/api/lectures?page=0&size=5",
+                "/api/lectures?fields=name,email&size=5",
+                "/api/lectures?after=&size=5",
+                "/api/lectures/search?mine=true",
+                "/api/lectures/search/text?q=Boundary")) {
+            mockMvc.perform(get(uri).header(HttpHeaders.AUTHORIZATION, bearerToken))
+                    .andExpect(status().is2xxSuccessful());
+        }
+
+        mockMvc.perform(post("/api/lectures")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reqDto("Created"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/lectures/batch")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(reqDto("Batch 1"), reqDto("Batch 2")))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/lectures/{id}", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reqDto("Updated"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/lectures/{id}/enrollments", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/api/lectures/{id}/enrollments/me", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/lectures/{id}/enrollments", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/lectures/{id}/enrollments/me", lectureId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportAndImportDoNotLoadLazilyOutsideTransaction() throws Exception {
+        //StreamingResponseBody 는 요청 thread 가 끝난 후 DB cursor 를 읽음
+        MvcResult export = mockMvc.perform(get("/api/lectures/export")
+                        .param("format", "csv")
+                        .param("mine", "true")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Boundary")));
+
+        mockMvc.perform(post("/api/lectures/import")
+                        .param("format", "ndjson")
+                        .param("importId", IMPORT_ID)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(reqDto("Imported")) + "\n{not json}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejectFile").doesNotExist())
+                .andExpect(jsonPath("$._links.rejects.href").value(
+                        endsWith("/api/lectures/import/" + IMPORT_ID + "/rejects")));
+        mockMvc.perform(get("/api/lectures/import/{importId}/rejects", IMPORT_ID)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"record\":2")));
+    }
+
+    @Test
+    void connectionUsageIsRecorded() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                            .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                    .andExpect(status().isOk());
+        }
+
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+        assertThat(usage).isNotNull();
+        assertThat(usage.count()).isPositive();
+    }
+
+    private static LectureReqDto reqDto(String name) {
+        return LectureReqDto.builder()
+                .name(name)
+                .description(DESCRIPTION)
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+//Tomcat 의 platform thread pool (기본 최대 200개) 로 요청 처리
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=1000",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.datasource.hikari.connection-timeout=10000",
+        "jwt.auth-mode=CLAIMS",
+        "ratelimit.enabled=false"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PlatformThreadLoadTest extends LectureLoadScenario {
+    @Override
+    String threadModel() {
+        return "platform";
+    }
+}
@@ -0,0 +1,28 @@
+package com.boot3.myrestapi.lectures.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+//application-vthreads.properties 와 같은 설정 (요청마다 virtual thread, pinning 수집)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=1000",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.datasource.hikari.connection-timeout=10000",
+        "vthreads.pinning-monitor.enabled=true",
+        "jwt.auth-mode=CLAIMS",
+        "ratelimit.enabled=false"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadTest extends LectureLoadScenario {
+    @Override
+    String threadModel() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,107 @@
+package com.boot3.myrestapi.lectures.dto;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    LectureMapper 와 이전에 사용하던 ModelMapper 의 변환 결과/속도 비교
+    benchmark 는 -Dbenchmark=true 로 실행할 때만 수행됨
+ */
+class LectureMapperTest {
+    private static final int[] PAGE_SIZES = {20, 200, 2000};
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 500;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final LectureMapper lectureMapper = new LectureMapper();
+
+    @Test
+    void sameResultAsModelMapper() {
+        LectureReqDto reqDto = reqDto(1);
+
+        Lecture expectedEntity = modelMapper.map(reqDto, Lecture.class);
+        Lecture actualEntity = lectureMapper.toEntity(reqDto);
+        assertThat(actualEntity).usingRecursiveComparison().isEqualTo(expectedEntity);
+
+        Lecture lecture = lecture(1);
+        LectureResDto expectedResDto = modelMapper.map(lecture, LectureResDto.class);
+        expectedResDto.setEmail(lecture.getUserInfo().getEmail());
+        assertThat(lectureMapper.toResDto(lecture)).isEqualTo(expectedResDto);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkPageMapping() throws Exception {
+        for (int pageSize : PAGE_SIZES) {
+            List<Lecture> page = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                page.add(lecture(i));
+            }
+            double modelMapperMicros = Benchmark.measure(WARM_UP, ITERATIONS, () -> mapPage(page, true)).averageMicros();
+            double lectureMapperMicros = Benchmark.measure(WARM_UP, ITERATIONS, () -> mapPage(page, false)).averageMicros();
+            Benchmark.report("page size %4d : ModelMapper = %.1f us/page, LectureMapper = %.1f us/page",
+                    pageSize, modelMapperMicros, lectureMapperMicros);
+        }
+    }
+
+    private long mapPage(List<Lecture> page, boolean useModelMapper) {
+        long ids = 0;
+        for (Lecture lecture : page) {
+            LectureResDto resDto = useModelMapper
+                    ? modelMapper.map(lecture, LectureResDto.class)
+                    : lectureMapper.toResDto(lecture);
+            ids += resDto.getId();
+        }
+        return ids;
+    }
+
+    private static LectureReqDto reqDto(int i) {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 9, 0);
+        return LectureReqDto.builder()
+                .name("Lecture " + i)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(now)
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginLectureDateTime(now.plusDays(2))
+                .endLectureDateTime(now.plusDays(3))
+                .location("D Start up Factory")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+    }
+
+    private static Lecture lecture(int i) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(1);
+        userInfo.setEmail("user@aa.com");
+
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 9, 0);
+        Lecture lecture = Lecture.builder()
+                .id(i)
+                .name("Lecture " + i)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(now)
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginLectureDateTime(now.plusDays(2))
+                .endLectureDateTime(now.plusDays(3))
+                .location("D Start up Factory")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .userInfo(userInfo)
+                .build();
+        lecture.update();
+        return lecture;
+    }
+}
@@ -0,0 +1,28 @@
+package com.boot3.myrestapi.lectures.models;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Hibernate 가 실행하는 SQL 을 현재 thread 별로 기록 (LectureSearchIndexTest 에서 EXPLAIN 용)
+    hibernate.session_factory.statement_inspector 로 등록
+ */
+public class CapturingStatementInspector implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
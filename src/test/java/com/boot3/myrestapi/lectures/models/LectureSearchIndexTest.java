@@ -0,0 +1,162 @@
+package com.boot3.myrestapi.lectures.models;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCriteria;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    검색 조건(LectureSpecifications)이 Lecture 에 선언한 복합 인덱스를 사용하는지 H2 EXPLAIN 으로 확인
+    EXPLAIN 하는 SQL 은 CapturingStatementInspector 로 기록한 Hibernate 의 SQL (조건 값은 literal 로 inline)
+    1,000,000 건 benchmark 는 -Dbenchmark=true 로 실행할 때만 수행됨
+ */
+@SpringBootTest(properties = {
+        "ratelimit.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.boot3.myrestapi.lectures.models.CapturingStatementInspector",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"})
+@ActiveProfiles("test")
+class LectureSearchIndexTest {
+    private static final String BENCHMARK_DESCRIPTION = "search benchmark";
+    private static final int BENCHMARK_ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    @Test
+    void statusAndEnrollmentRangeUsesStatusIndex() {
+        assertThat(explain(criteria -> {
+            criteria.setStatus(LectureStatus.PUBLISHED);
+            criteria.setEnrollmentFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+            criteria.setEnrollmentTo(LocalDateTime.of(2024, 2, 1, 0, 0));
+        }, null)).containsIgnoringCase("idx_lectures_status_begin_enrollment");
+    }
+
+    @Test
+    void statusAndLectureRangeUsesStatusIndex() {
+        assertThat(explain(criteria -> {
+            criteria.setStatus(LectureStatus.PUBLISHED);
+            criteria.setLectureFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+        }, null)).containsIgnoringCase("idx_lectures_status_begin_lecture");
+    }
+
+    @Test
+    void ownerAndLectureRangeUsesOwnerIndex() {
+        UserInfo owner = userInfoRepository.findByEmail("admin@aa.com").orElseThrow();
+        assertThat(explain(criteria -> {
+            criteria.setMine(true);
+            criteria.setLectureFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+        }, owner)).containsIgnoringCase("idx_lectures_owner_begin_lecture");
+    }
+
+    @Test
+    void priceRangeUsesPriceIndex() {
+        assertThat(explain(criteria -> {
+            criteria.setMinPrice(100);
+            criteria.setMaxPrice(200);
+        }, null)).containsIgnoringCase("idx_lectures_price");
+    }
+
+    @Test
+    void locationPrefixUsesLocationIndex() {
+        assertThat(explain(criteria -> criteria.setLocation("1 "), null))
+                .containsIgnoringCase("idx_lectures_location");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkSearchOnMillionRows() throws Exception {
+        UserInfo owner = userInfoRepository.findByEmail("admin@aa.com").orElseThrow();
+        insertBenchmarkRows(owner.getId());
+        try {
+            measure("status + enrollment range", criteria -> {
+                criteria.setStatus(LectureStatus.PUBLISHED);
+                criteria.setEnrollmentFrom(LocalDateTime.of(2024, 3, 1, 0, 0));
+                criteria.setEnrollmentTo(LocalDateTime.of(2024, 3, 8, 0, 0));
+            }, null);
+            measure("mine + lecture range", criteria -> {
+                criteria.setMine(true);
+                criteria.setLectureFrom(LocalDateTime.of(2024, 6, 1, 0, 0));
+            }, owner);
+            measure("price range", criteria -> {
+                criteria.setMinPrice(900);
+                criteria.setMaxPrice(950);
+            }, null);
+            measure("location prefix", criteria -> criteria.setLocation("77 "), null);
+        } finally {
+            jdbcTemplate.update("delete from lectures where description = ?", BENCHMARK_DESCRIPTION);
+        }
+    }
+
+    private void measure(String name, Consumer<LectureSearchCriteria> condition, UserInfo currentUser) throws Exception {
+        LectureSearchCriteria criteria = new LectureSearchCriteria();
+        condition.accept(criteria);
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        long[] total = {0};
+        Benchmark.Timings timings = Benchmark.measure(5, 20, () -> total[0] = lectureRepository
+                .findAll(LectureSpecifications.of(criteria, currentUser), pageRequest).getTotalElements());
+        Benchmark.report("%-28s : %8.2f ms/page (%d matches)", name, timings.averageMillis(), total[0]);
+    }
+
+    private void insertBenchmarkRows(int ownerId) {
+        String sql = "insert into lectures (id, name, description, begin_enrollment_date_time, close_enrollment_date_time,"
+                + " begin_lecture_date_time, end_lecture_date_time, location, base_price, max_price,"
+                + " limit_of_enrollment, offline, free, lecture_status, user_info_id)"
+                + " values (next value for lectures_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LectureStatus[] statuses = LectureStatus.values();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BENCHMARK_ROWS; i++) {
+            LocalDateTime beginEnrollment = base.plusMinutes(random.nextInt(365 * 24 * 60));
+            int basePrice = random.nextInt(1000);
+            batch.add(new Object[]{
+                    i + " Lecture", BENCHMARK_DESCRIPTION,
+                    Timestamp.valueOf(beginEnrollment), Timestamp.valueOf(beginEnrollment.plusDays(7)),
+                    Timestamp.valueOf(beginEnrollment.plusDays(14)), Timestamp.valueOf(beginEnrollment.plusDays(15)),
+                    random.nextInt(100) + " 강의장", basePrice, basePrice + random.nextInt(100),
+                    100, true, false, statuses[random.nextInt(statuses.length)].name(),
+                    random.nextInt(10) == 0 ? ownerId : null});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    //LectureSpecifications 로 조회할 때 Hibernate 가 만든 SQL 의 실행 계획
+    private String explain(Consumer<LectureSearchCriteria> condition, UserInfo currentUser) {
+        LectureSearchCriteria criteria = new LectureSearchCriteria();
+        condition.accept(criteria);
+        CapturingStatementInspector.clear();
+        lectureRepository.findAll(LectureSpecifications.of(criteria, currentUser));
+        List<String> statements = CapturingStatementInspector.statements();
+        assertThat(statements).hasSize(1);
+        return String.join("\n", jdbcTemplate.queryForList("explain " + statements.get(0), String.class));
+    }
+}
@@ -0,0 +1,146 @@
+package com.boot3.myrestapi.lectures.search;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    LectureTextIndex 의 prefix 검색, 점수 순서, 재색인/전체 재색인 교체 검증
+    benchmark(Lecture 당 메모리, 검색 p99)는 -Dbenchmark=true 로 실행할 때만 수행됨
+ */
+class LectureTextIndexTest {
+    private static final String[] WORDS = {
+            "spring", "boot", "rest", "api", "jwt", "security", "jpa", "hibernate", "kotlin", "java",
+            "react", "docker", "kubernetes", "redis", "kafka", "스프링", "자바", "보안", "테스트", "데이터"};
+
+    private final LectureTextIndex index = new LectureTextIndex();
+
+    @Test
+    void prefixAndKeywordSearch() {
+        index.index(new LectureText(1, "Spring Boot REST API", "JWT security"));
+        index.index(new LectureText(2, "Spring Data JPA", "Hibernate"));
+        index.index(new LectureText(3, "React", "Spring Boot backend"));
+
+        //name 일치(3) 가 description 일치(1) 보다 먼저
+        assertThat(search("spring")).containsExactly(1, 2, 3);
+        assertThat(search("Bo")).containsExactly(1, 3);
+        //모든 검색어를 포함해야 함
+        assertThat(search("spring jpa")).containsExactly(2);
+        assertThat(search("vue")).isEmpty();
+        assertThat(search("  ")).isEmpty();
+        //한 글자는 prefix 로 찾지 않음
+        assertThat(search("b")).isEmpty();
+    }
+
+    @Test
+    void limitKeepsHighestRankedAndTotal() {
+        for (int id = 1; id <= 50; id++) {
+            //id 가 3의 배수이면 name 일치(3), 아니면 description 일치(1)
+            index.index(id % 3 == 0
+                    ? new LectureText(id, "Spring " + id, "course")
+                    : new LectureText(id, "Course " + id, "spring"));
+        }
+
+        LectureTextIndex.Hits hits = index.search("spring", 5);
+
+        assertThat(hits.lectureIds()).containsExactly(3, 6, 9, 12, 15);
+        assertThat(hits.total()).isEqualTo(50);
+        assertThat(index.search("spring", 0).lectureIds()).isEmpty();
+    }
+
+    @Test
+    void reindexReplacesPreviousTerms() {
+        index.index(new LectureText(1, "Spring Boot", "REST API"));
+        index.index(new LectureText(1, "Kotlin", "Coroutines"));
+
+        assertThat(search("spring")).isEmpty();
+        assertThat(search("kot")).containsExactly(1);
+
+        index.remove(1);
+        assertThat(search("kotlin")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void rebuildIsSwappedInAtOnce() {
+        index.index(new LectureText(1, "Spring Boot", "REST API"));
+        index.index(new LectureText(2, "Kotlin", "Coroutines"));
+
+        LectureTextIndex.Rebuild rebuild = index.beginRebuild();
+        rebuild.index(new LectureText(1, "Spring Boot", "REST API"));
+        //교체 전에는 이전 색인 전체로 검색
+        assertThat(search("kotlin")).containsExactly(2);
+        assertThat(index.size()).isEqualTo(2);
+
+        //재색인 중에 저장/삭제된 Lecture 는 재색인이 읽은 이전 값으로 덮어쓰지 않음
+        index.index(new LectureText(3, "Docker", "Kubernetes"));
+        index.remove(2);
+        rebuild.index(new LectureText(2, "Kotlin", "Coroutines"));
+        rebuild.index(new LectureText(3, "React", "stale"));
+
+        assertThat(rebuild.swap()).isTrue();
+        assertThat(search("spring")).containsExactly(1);
+        assertThat(search("kotlin")).isEmpty();
+        assertThat(search("docker")).containsExactly(3);
+        assertThat(search("react")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledRebuildKeepsCurrentIndex() {
+        index.index(new LectureText(1, "Spring Boot", "REST API"));
+        LectureTextIndex.Rebuild rebuild = index.beginRebuild();
+        rebuild.cancel();
+
+        assertThat(rebuild.swap()).isFalse();
+        assertThat(search("spring")).containsExactly(1);
+    }
+
+    @Test
+    void tokenizeSplitsOnNonLetters() {
+        assertThat(LectureTextIndex.tokenize("Spring-Boot 3.2, 스프링 강의!"))
+                .containsExactly("spring", "boot", "3", "2", "스프링", "강의");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkMemoryAndQueryLatency() throws Exception {
+        int lectures = 200_000;
+        Random random = new Random(42);
+
+        long before = Benchmark.usedHeap();
+        for (int i = 1; i <= lectures; i++) {
+            index.index(new LectureText(i, sentence(random, 4) + " " + i, sentence(random, 20)));
+        }
+        long after = Benchmark.usedHeap();
+        Benchmark.report("indexed %d lectures : %.1f bytes/lecture",
+                lectures, (double) (after - before) / lectures);
+
+        String[] queries = new String[10_000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = WORDS[random.nextInt(WORDS.length)].substring(0, 2 + random.nextInt(2))
+                    + (i % 2 == 0 ? "" : " " + WORDS[random.nextInt(WORDS.length)]);
+        }
+        int[] next = {0};
+        Benchmark.Timings timings = Benchmark.measure(0, queries.length, () -> index.search(queries[next[0]++], 20));
+        Benchmark.report("search latency : p50 = %.2f ms, p99 = %.2f ms",
+                timings.percentileMillis(0.5), timings.percentileMillis(0.99));
+    }
+
+    private List<Integer> search(String query) {
+        return index.search(query, 10).lectureIds();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.toString();
+    }
+}
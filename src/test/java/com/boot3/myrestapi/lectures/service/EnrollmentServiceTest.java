@@ -0,0 +1,215 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.dto.EnrollmentResDto;
+import com.boot3.myrestapi.lectures.models.Enrollment;
+import com.boot3.myrestapi.lectures.models.EnrollmentRepository;
+import com.boot3.myrestapi.lectures.models.EnrollmentStatus;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.models.LectureStatus;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    동시 수강 신청에서 정원(limitOfEnrollment)만큼만 ENROLLED 되고 나머지는 대기자가 되는지 검증
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@ActiveProfiles("test")
+class EnrollmentServiceTest {
+    private static final int LIMIT = 20;
+    private static final int USERS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    EnrollmentSeats enrollmentSeats;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Integer lectureId;
+
+    @BeforeEach
+    void setUp() {
+        lectureId = saveLecture(LectureStatus.BEGAN_ENROLLMENT);
+    }
+
+    private Integer saveLecture(LectureStatus status) {
+        return lectureRepository.save(Lecture.builder()
+                .name("Enrollment")
+                .description("concurrent enrollment")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .limitOfEnrollment(LIMIT)
+                .lectureStatus(status)
+                .build()).getId();
+    }
+
+    @Test
+    void concurrentEnrollmentsNeverExceedLimit() throws Exception {
+        List<UserInfo> users = createUsers(USERS);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<EnrollmentResDto>> results = new ArrayList<>();
+        try {
+            for (UserInfo user : users) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return enrollmentService.enroll(lectureId, user);
+                }));
+            }
+            start.countDown();
+            long enrolled = 0;
+            for (Future<EnrollmentResDto> result : results) {
+                if (result.get().getStatus() == EnrollmentStatus.ENROLLED) {
+                    enrolled++;
+                }
+            }
+            assertThat(enrolled).isEqualTo(LIMIT);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(enrollmentRepository.countByLectureIdAndStatus(lectureId, EnrollmentStatus.ENROLLED))
+                .isEqualTo(LIMIT);
+        assertThat(enrollmentRepository.countByLectureIdAndStatus(lectureId, EnrollmentStatus.WAITLISTED))
+                .isEqualTo(USERS - LIMIT);
+    }
+
+    @Test
+    void cancellationPassesSeatToFirstWaitlisted() {
+        List<UserInfo> users = createUsers(LIMIT + 2);
+        for (UserInfo user : users) {
+            enrollmentService.enroll(lectureId, user);
+        }
+        UserInfo firstWaitlisted = users.get(LIMIT);
+        assertThat(enrollmentService.getEnrollment(lectureId, firstWaitlisted).getWaitlistPosition()).isEqualTo(1);
+
+        enrollmentService.cancel(lectureId, users.get(0));
+
+        assertThat(enrollmentService.getEnrollment(lectureId, firstWaitlisted).getStatus())
+                .isEqualTo(EnrollmentStatus.ENROLLED);
+        assertThat(enrollmentService.getEnrollment(lectureId, users.get(LIMIT + 1)).getWaitlistPosition())
+                .isEqualTo(1);
+        assertThat(enrollmentRepository.countByLectureIdAndStatus(lectureId, EnrollmentStatus.ENROLLED))
+                .isEqualTo(LIMIT);
+    }
+
+    @Test
+    void duplicateEnrollmentIsConflict() {
+        UserInfo user = createUsers(1).get(0);
+        enrollmentService.enroll(lectureId, user);
+
+        assertThatThrownBy(() -> enrollmentService.enroll(lectureId, user))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void lectureNotOpenIsConflict() {
+        UserInfo user = createUsers(1).get(0);
+        for (LectureStatus status : List.of(LectureStatus.DRAFT, LectureStatus.PUBLISHED,
+                LectureStatus.CLOSED_ENROLLMENT)) {
+            Integer notOpen = saveLecture(status);
+
+            assertThatThrownBy(() -> enrollmentService.enroll(notOpen, user))
+                    .isInstanceOfSatisfying(BusinessException.class,
+                            e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT));
+        }
+    }
+
+    @Test
+    void returnedSeatGoesToWaitlistedBeforeNewcomer() {
+        List<UserInfo> users = createUsers(LIMIT + 2);
+        for (UserInfo user : users.subList(0, LIMIT + 1)) {
+            enrollmentService.enroll(lectureId, user);
+        }
+        //취소하는 transaction 이 대기 신청을 보지 못해 대기자에게 넘기지 않고 되돌린 좌석
+        Enrollment cancelled = enrollmentRepository.findByLectureIdAndUserInfoId(lectureId, users.get(0).getId())
+                .orElseThrow();
+        cancelled.setStatus(EnrollmentStatus.CANCELLED);
+        enrollmentRepository.save(cancelled);
+        enrollmentSeats.returnSeats(lectureId, 1);
+
+        EnrollmentResDto newcomer = enrollmentService.enroll(lectureId, users.get(LIMIT + 1));
+
+        assertThat(enrollmentService.getEnrollment(lectureId, users.get(LIMIT)).getStatus())
+                .isEqualTo(EnrollmentStatus.ENROLLED);
+        assertThat(newcomer.getStatus()).isEqualTo(EnrollmentStatus.WAITLISTED);
+        assertThat(newcomer.getWaitlistPosition()).isEqualTo(1);
+        assertThat(enrollmentRepository.countByLectureIdAndStatus(lectureId, EnrollmentStatus.ENROLLED))
+                .isEqualTo(LIMIT);
+    }
+
+    @Test
+    void raisedLimitPromotesWaitlisted() {
+        List<UserInfo> users = createUsers(LIMIT + 3);
+        for (UserInfo user : users) {
+            enrollmentService.enroll(lectureId, user);
+        }
+
+        enrollmentService.changeLimit(lectureId, LIMIT, LIMIT + 2);
+
+        assertThat(enrollmentRepository.countByLectureIdAndStatus(lectureId, EnrollmentStatus.ENROLLED))
+                .isEqualTo(LIMIT + 2);
+        assertThat(enrollmentRepository.countByLectureIdAndStatus(lectureId, EnrollmentStatus.WAITLISTED))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackLimitChangeKeepsSeats() {
+        enrollmentService.enroll(lectureId, createUsers(1).get(0));
+        int remaining = enrollmentSeats.remaining(lectureId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            enrollmentService.changeLimit(lectureId, LIMIT, LIMIT + 5);
+            status.setRollbackOnly();
+        });
+
+        assertThat(enrollmentSeats.remaining(lectureId)).isEqualTo(remaining);
+    }
+
+    private List<UserInfo> createUsers(int count) {
+        List<UserInfo> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String key = UUID.randomUUID().toString();
+            UserInfo userInfo = new UserInfo();
+            userInfo.setName("enroll" + i);
+            userInfo.setEmail(key + "@enroll.com");
+            userInfo.setPassword("{noop}pwd");
+            userInfo.setRoles("ROLE_USER");
+            userInfo.setUserId(key);
+            users.add(userInfo);
+        }
+        return userInfoRepository.saveAll(users);
+    }
+}
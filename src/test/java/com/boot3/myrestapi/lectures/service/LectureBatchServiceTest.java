@@ -0,0 +1,113 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.lectures.dto.LectureMapper;
+import com.boot3.myrestapi.lectures.dto.LectureReqDto;
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    항목별 검증과 batch 저장 검증
+    한건씩 save 하는 경우와의 rows/sec 비교는 -Dbenchmark=true 로 실행할 때만 수행됨
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@ActiveProfiles("test")
+class LectureBatchServiceTest {
+    private static final int BENCHMARK_ROWS = 10_000;
+
+    @Autowired
+    LectureBatchService lectureBatchService;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    LectureMapper lectureMapper;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    @Test
+    void validateReportsErrorsPerItem() {
+        LectureReqDto wrongPrice = reqDto("wrong price");
+        wrongPrice.setBasePrice(300);
+        LectureReqDto noName = reqDto(" ");
+
+        List<Errors> errors = lectureBatchService.validate(List.of(reqDto("valid"), wrongPrice, noName));
+
+        assertThat(errors.get(0)).isNull();
+        assertThat(errors.get(1).getFieldError("basePrice")).isNotNull();
+        assertThat(errors.get(2).getFieldError("name")).isNotNull();
+    }
+
+    @Test
+    void saveAllAssignsIdsAndOwner() {
+        UserInfo owner = userInfoRepository.findByEmail("user@aa.com").orElseThrow();
+        List<LectureReqDto> reqDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            reqDtos.add(reqDto("batch " + i));
+        }
+
+        List<Lecture> saved = lectureBatchService.saveAll(reqDtos, owner);
+
+        assertThat(saved).hasSize(120).allSatisfy(lecture -> assertThat(lecture.getId()).isNotNull());
+        Lecture reloaded = lectureRepository.findWithUserInfoById(saved.get(119).getId()).orElseThrow();
+        assertThat(reloaded.getName()).isEqualTo("batch 119");
+        assertThat(reloaded.getUserInfo().getEmail()).isEqualTo("user@aa.com");
+        lectureRepository.deleteAllByIdInBatch(saved.stream().map(Lecture::getId).toList());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkBatchAgainstOneAtATime() throws Exception {
+        UserInfo owner = userInfoRepository.findByEmail("user@aa.com").orElseThrow();
+        List<LectureReqDto> reqDtos = new ArrayList<>(BENCHMARK_ROWS);
+        for (int i = 0; i < BENCHMARK_ROWS; i++) {
+            reqDtos.add(reqDto("benchmark " + i));
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        double oneAtATime = Benchmark.measure(0, 1, () -> {
+            for (LectureReqDto reqDto : reqDtos) {
+                Lecture lecture = lectureMapper.toEntity(reqDto);
+                lecture.update();
+                lecture.setUserInfo(owner);
+                ids.add(lectureRepository.save(lecture).getId());
+            }
+            return ids;
+        }).perSecond(BENCHMARK_ROWS);
+        double batch = Benchmark.measure(0, 1, () -> {
+            lectureBatchService.saveAll(reqDtos, owner).forEach(lecture -> ids.add(lecture.getId()));
+            return ids;
+        }).perSecond(BENCHMARK_ROWS);
+
+        Benchmark.report("one at a time : %.0f rows/sec, batch : %.0f rows/sec", oneAtATime, batch);
+        lectureRepository.deleteAllByIdInBatch(ids);
+    }
+
+    private static LectureReqDto reqDto(String name) {
+        return LectureReqDto.builder()
+                .name(name)
+                .description("Batch Lecture")
+                .beginEnrollmentDateTime(LocalDateTime.of(2024, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2024, 11, 24, 14, 21))
+                .beginLectureDateTime(LocalDateTime.of(2024, 11, 25, 14, 21))
+                .endLectureDateTime(LocalDateTime.of(2024, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+}
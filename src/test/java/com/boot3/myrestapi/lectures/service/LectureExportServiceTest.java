@@ -0,0 +1,128 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.benchmark.Benchmark;
+import com.boot3.myrestapi.lectures.dto.LectureSearchCriteria;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    NDJSON / CSV 내보내기 검증
+    건수별 heap 사용량 benchmark 는 -Dbenchmark=true 로 실행할 때만 수행됨
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@ActiveProfiles("test")
+class LectureExportServiceTest {
+    private static final String BENCHMARK_DESCRIPTION = "export benchmark";
+
+    @Autowired
+    LectureExportService lectureExportService;
+    @Autowired
+    LectureRepository lectureRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportsEveryLectureAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        lectureExportService.export(new LectureSearchCriteria(), null, LectureExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize((int) lectureRepository.count());
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.has("id")).isTrue();
+        assertThat(first.has("_links")).isFalse();
+        assertThat(first.has("version")).isFalse();
+    }
+
+    @Test
+    void exportsFilteredLecturesAsCsv() throws Exception {
+        LectureSearchCriteria criteria = new LectureSearchCriteria();
+        criteria.setLocation("1 ");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        lectureExportService.export(criteria, null, LectureExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).startsWith("id,name,description");
+        assertThat(lines).hasSizeGreaterThan(1);
+        for (int i = 1; i < lines.length; i++) {
+            assertThat(lines[i]).contains(",1 ");
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkHeapIsFlatAcrossRowCounts() throws Exception {
+        int inserted = 0;
+        try {
+            for (int rows : new int[]{10_000, 100_000, 1_000_000}) {
+                insertRows(rows - inserted);
+                inserted = rows;
+                AtomicLong written = new AtomicLong();
+                long peakHeap = Benchmark.peakHeap(() -> {
+                    lectureExportService.export(new LectureSearchCriteria(), null, LectureExportFormat.NDJSON,
+                            countingStream(written));
+                    return written.get();
+                });
+                Benchmark.report("%,10d rows : %,d bytes written, peak heap %,d MB",
+                        rows, written.get(), peakHeap / (1024 * 1024));
+            }
+        } finally {
+            jdbcTemplate.update("delete from lectures where description = ?", BENCHMARK_DESCRIPTION);
+        }
+    }
+
+    //쓴 byte 수만 세는 OutputStream
+    private static OutputStream countingStream(AtomicLong written) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                written.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written.addAndGet(len);
+            }
+        };
+    }
+
+    private void insertRows(int rows) {
+        String sql = "insert into lectures (id, name, description, begin_enrollment_date_time, close_enrollment_date_time,"
+                + " begin_lecture_date_time, end_lecture_date_time, location, base_price, max_price,"
+                + " limit_of_enrollment, offline, free, lecture_status)"
+                + " values (next value for lectures_seq, ?, ?, ?, ?, ?, ?, ?, 100, 200, 100, true, false, 'DRAFT')";
+        Timestamp begin = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 9, 0));
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{i + " Lecture", BENCHMARK_DESCRIPTION, begin, begin, begin, begin, "강의장"});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.common.exception.BusinessException;
+import com.boot3.myrestapi.lectures.models.LectureImportCheckpoint;
+import com.boot3.myrestapi.lectures.models.LectureImportCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    CSV/NDJSON 가져오기의 reject 파일, checkpoint 이어하기, 같은 importId 동시 실행 검증
+ */
+@SpringBootTest(properties = {"ratelimit.enabled=false", "lectures.import.chunk-size=2"})
+@ActiveProfiles("test")
+class LectureImportServiceTest {
+    @Autowired
+    LectureImportService lectureImportService;
+    @Autowired
+    LectureImportCheckpointRepository checkpointRepository;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void importsCsvAndWritesRejects() throws Exception {
+        String csv = """
+                name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,beginLectureDateTime,endLectureDateTime,location,basePrice,maxPrice,limitOfEnrollment
+                Spring,"REST API, ""JWT\""",2024-11-23 14:21,2024-11-24 14:21,2024-11-25 14:21,2024-11-26 14:21,강남역,100,200,100
+                Wrong price,Test,2024-11-23 14:21,2024-11-24 14:21,2024-11-25 14:21,2024-11-26 14:21,강남역,300,200,100
+                Wrong date,Test,2024/11/23,2024-11-24 14:21,2024-11-25 14:21,2024-11-26 14:21,강남역,100,200,100
+                Missing limit,Test,2024-11-23 14:21,2024-11-24 14:21,2024-11-25 14:21,2024-11-26 14:21,강남역,100,200,
+
+                Multi line,"first line
+                second line",2024-11-23 14:21,2024-11-24 14:21,2024-11-25 14:21,2024-11-26 14:21,강남역,0,0,100
+                """;
+
+        LectureImportResult result = lectureImportService.importLectures(
+                new StringReader(csv), LectureExportFormat.CSV, null, workDir, "csv-import");
+
+        assertThat(result.records()).isEqualTo(5);
+        assertThat(result.saved()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        List<String> rejects = Files.readAllLines(lectureImportService.rejectFile(workDir, "csv-import"));
+        assertThat(rejects).hasSize(3);
+        assertThat(rejects.get(0)).contains("\"record\":2").contains("basePrice");
+        assertThat(rejects.get(1)).contains("\"record\":3").contains("CSV");
+        //숫자 컬럼이 비어 있으면 0 으로 저장하지 않음
+        assertThat(rejects.get(2)).contains("\"record\":4").contains("limitOfEnrollment");
+        assertThat(checkpointRepository.findById("csv-import")).isEmpty();
+    }
+
+    @Test
+    void resumesAfterLastCheckpoint() throws Exception {
+        String line = "{\"name\":\"%s\",\"description\":\"Test\",\"beginEnrollmentDateTime\":\"2024-11-23 14:21\","
+                + "\"closeEnrollmentDateTime\":\"2024-11-24 14:21\",\"beginLectureDateTime\":\"2024-11-25 14:21\","
+                + "\"endLectureDateTime\":\"2024-11-26 14:21\",\"location\":\"강남역\",\"basePrice\":100,"
+                + "\"maxPrice\":200,\"limitOfEnrollment\":100}\n";
+        String ndjson = line.formatted("first") + line.formatted("second") + "{not json}\n" + line.formatted("fourth");
+        //앞의 2건은 이전 실행에서 commit 된 상태
+        checkpointRepository.save(LectureImportCheckpoint.builder().importId("ndjson-import").records(2).build());
+        Files.writeString(workDir.resolve("ndjson-import.rejects.ndjson"), "");
+
+        LectureImportResult result = lectureImportService.importLectures(
+                new StringReader(ndjson), LectureExportFormat.NDJSON, null, workDir, "ndjson-import");
+
+        assertThat(result.records()).isEqualTo(4);
+        assertThat(result.skipped()).isEqualTo(2);
+        assertThat(result.saved()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(Files.readAllLines(lectureImportService.rejectFile(workDir, "ndjson-import"))).singleElement()
+                .asString().contains("\"record\":3").contains("JSON");
+        assertThat(checkpointRepository.findById("ndjson-import")).isEmpty();
+    }
+
+    @Test
+    void sameImportIdCannotRunConcurrently() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        //첫번째 가져오기는 body 를 읽는 중에 멈춰 있음
+        Reader blocked = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                reading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return -1;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<LectureImportResult> first = executor.submit(() -> lectureImportService.importLectures(
+                    blocked, LectureExportFormat.NDJSON, null, workDir, "running-import"));
+            assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> lectureImportService.importLectures(
+                    new StringReader(""), LectureExportFormat.NDJSON, null, workDir, "running-import"))
+                    .isInstanceOfSatisfying(BusinessException.class,
+                            e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT));
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).records()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+        //끝난 후에는 같은 importId 로 다시 실행 가능
+        assertThat(lectureImportService.importLectures(
+                new StringReader(""), LectureExportFormat.NDJSON, null, workDir, "running-import").records()).isZero();
+    }
+}
@@ -0,0 +1,104 @@
+package com.boot3.myrestapi.lectures.service;
+
+import com.boot3.myrestapi.lectures.models.Lecture;
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.lectures.models.LectureStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    시작할 때 지나간 전이 처리, 큐에 올린 전이의 tick 처리, 수정되어 시각이 바뀐 Lecture 제외
+    주기 실행(tick)은 끄고 직접 호출
+ */
+@SpringBootTest(properties = {"ratelimit.enabled=false", "lectures.status.tick-ms=3600000"})
+@ActiveProfiles("test")
+class LectureStatusSchedulerTest {
+    @Autowired
+    LectureStatusScheduler lectureStatusScheduler;
+    @Autowired
+    LectureRepository lectureRepository;
+
+    @Test
+    void missedTransitionsAreAppliedOnStart() {
+        LocalDateTime now = LocalDateTime.now();
+        Lecture closed = save(LectureStatus.PUBLISHED, now.minusDays(2), now.minusDays(1));
+        Lecture began = save(LectureStatus.PUBLISHED, now.minusHours(1), now.plusDays(1));
+        Lecture draft = save(LectureStatus.DRAFT, now.minusDays(2), now.minusDays(1));
+
+        lectureStatusScheduler.start();
+
+        Lecture reloaded = lectureRepository.findById(closed.getId()).orElseThrow();
+        assertThat(reloaded.getLectureStatus()).isEqualTo(LectureStatus.CLOSED_ENROLLMENT);
+        //ETag 가 바뀌도록 version 증가
+        assertThat(reloaded.getVersion()).isGreaterThan(closed.getVersion());
+        assertThat(statusOf(began)).isEqualTo(LectureStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(draft)).isEqualTo(LectureStatus.DRAFT);
+    }
+
+    @Test
+    void scheduledTransitionIsAppliedWhenDue() throws InterruptedException {
+        lectureStatusScheduler.start();
+        LocalDateTime now = LocalDateTime.now();
+        Lecture lecture = save(LectureStatus.PUBLISHED, now.plusSeconds(1), now.plusDays(1));
+        lectureStatusScheduler.schedule(lecture);
+
+        lectureStatusScheduler.tick();
+        assertThat(statusOf(lecture)).isEqualTo(LectureStatus.PUBLISHED);
+
+        Thread.sleep(1500);
+        lectureStatusScheduler.tick();
+        assertThat(statusOf(lecture)).isEqualTo(LectureStatus.BEGAN_ENROLLMENT);
+    }
+
+    @Test
+    void rescheduledLectureIsNotMovedEarly() throws InterruptedException {
+        lectureStatusScheduler.start();
+        LocalDateTime now = LocalDateTime.now();
+        Lecture lecture = save(LectureStatus.PUBLISHED, now.plusSeconds(1), now.plusDays(1));
+        lectureStatusScheduler.schedule(lecture);
+
+        //큐에 올라간 후 수강신청 시작 시각이 미뤄짐
+        Lecture existing = lectureRepository.findById(lecture.getId()).orElseThrow();
+        existing.setBeginEnrollmentDateTime(now.plusHours(12));
+        lectureStatusScheduler.schedule(lectureRepository.save(existing));
+
+        Thread.sleep(1500);
+        lectureStatusScheduler.tick();
+        assertThat(statusOf(lecture)).isEqualTo(LectureStatus.PUBLISHED);
+    }
+
+    @Test
+    void deadlineBeyondHorizonIsNotQueued() {
+        lectureStatusScheduler.start();
+        int size = lectureStatusScheduler.size();
+        LocalDateTime now = LocalDateTime.now();
+        Lecture lecture = save(LectureStatus.PUBLISHED, now.plusDays(1), now.plusDays(2));
+
+        lectureStatusScheduler.schedule(lecture);
+
+        assertThat(lectureStatusScheduler.size()).isEqualTo(size);
+    }
+
+    private Lecture save(LectureStatus status, LocalDateTime beginEnrollment, LocalDateTime closeEnrollment) {
+        return lectureRepository.save(Lecture.builder()
+                .name("Status " + status)
+                .description("LectureStatusScheduler test")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(closeEnrollment)
+                .beginLectureDateTime(closeEnrollment.plusDays(1))
+                .endLectureDateTime(closeEnrollment.plusDays(2))
+                .limitOfEnrollment(100)
+                .lectureStatus(status)
+                .build());
+    }
+
+    private LectureStatus statusOf(Lecture lecture) {
+        return lectureRepository.findById(lecture.getId()).orElseThrow().getLectureStatus();
+    }
+}
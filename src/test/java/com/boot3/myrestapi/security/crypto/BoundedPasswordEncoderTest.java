@@ -0,0 +1,115 @@
+package com.boot3.myrestapi.security.crypto;
+
+import com.boot3.myrestapi.security.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void delegatesToWrappedEncoder() {
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(), 1, 1, 1000);
+
+        assertThat(encoder.encode("pwd")).isEqualTo("plain:pwd");
+        assertThat(encoder.matches("pwd", "plain:pwd")).isTrue();
+        assertThat(encoder.matches("other", "plain:pwd")).isFalse();
+    }
+
+    @Test
+    void fullPoolAndQueueIsRejected() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 5000);
+        //pool 의 thread 1개와 queue 1칸을 채움
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.encode("queued"));
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> encoder.encode("rejected"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+    }
+
+    @Test
+    void queuedHashingTimesOut() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, 100);
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("pwd", "plain:pwd"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+    }
+
+    @Test
+    void startedHashingIsNotCutByTimeout() {
+        encoder = new BoundedPasswordEncoder(new SlowEncoder(), 1, 1, 50);
+
+        assertThat(encoder.encode("pwd")).isEqualTo("plain:pwd");
+    }
+
+    private static class PlainEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "plain:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    //timeout 보다 오래 걸리는 해싱
+    private static class SlowEncoder extends PlainEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+
+    //release 될 때까지 끝나지 않는 해싱
+    private class BlockingEncoder extends PlainEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            block();
+            return super.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            block();
+            return super.matches(rawPassword, encodedPassword);
+        }
+
+        private void block() {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
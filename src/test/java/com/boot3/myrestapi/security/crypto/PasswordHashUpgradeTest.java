@@ -0,0 +1,60 @@
+package com.boot3.myrestapi.security.crypto;
+
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    prefix 가 없거나 cost 가 낮은 기존 BCrypt 해시는 로그인에 성공하면 {bcrypt} + 설정된 cost 로 다시 저장됨
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashUpgradeTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Test
+    void legacyHashIsUpgradedOnLogin() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String email = key + "@upgrade.com";
+        UserInfo userInfo = new UserInfo();
+        userInfo.setName("upgrade");
+        userInfo.setEmail(email);
+        //prefix 없는 cost 4 해시
+        userInfo.setPassword(new BCryptPasswordEncoder(4).encode("pwd"));
+        userInfo.setRoles("ROLE_USER");
+        userInfo.setUserId(key);
+        userInfoRepository.save(userInfo);
+
+        mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"%s\",\"password\":\"pwd\"}".formatted(email)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").exists());
+
+        String upgraded = userInfoRepository.findByEmail(email).orElseThrow().getPassword();
+        assertThat(upgraded).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches("pwd", upgraded)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(upgraded)).isFalse();
+    }
+}
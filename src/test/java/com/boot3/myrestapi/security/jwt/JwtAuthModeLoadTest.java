@@ -0,0 +1,86 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.lectures.models.LectureRepository;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    DB 모드와 CLAIMS 모드의 요청당 SQL 실행 횟수
+    모드마다 jwt.auth-mode 를 설정한 별도의 context 로 실행
+    토큰 캐시를 끄고(jwt.cache.max-size=0) 매 요청마다 토큰 검증 경로를 타도록 함 (rate limit 도 끔)
+ */
+@SpringBootTest(properties = {
+        "jwt.cache.max-size=0",
+        "ratelimit.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthModeLoadTest {
+    private static final int REQUESTS = 200;
+
+    @Nested
+    @TestPropertySource(properties = "jwt.auth-mode=DB")
+    class DbMode extends StatementCounter {
+        @Test
+        void userInfoIsLoadedOnEveryRequest() throws Exception {
+            //Lecture 조회 1 + UserInfo 조회 1
+            assertThat(statementsPerRequest()).isEqualTo(2.0);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "jwt.auth-mode=CLAIMS")
+    class ClaimsMode extends StatementCounter {
+        @Test
+        void userInfoIsNotLoaded() throws Exception {
+            //Lecture 조회 1 (UserInfo 는 토큰의 claim 으로 만듦)
+            assertThat(statementsPerRequest()).isEqualTo(1.0);
+        }
+    }
+
+    abstract static class StatementCounter {
+        @Autowired
+        MockMvc mockMvc;
+        @Autowired
+        JwtService jwtService;
+        @Autowired
+        UserInfoRepository userInfoRepository;
+        @Autowired
+        LectureRepository lectureRepository;
+        @Autowired
+        EntityManagerFactory entityManagerFactory;
+
+        double statementsPerRequest() throws Exception {
+            UserInfo userInfo = userInfoRepository.findByEmail("user@aa.com").orElseThrow();
+            Integer lectureId = lectureRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+            String token = jwtService.issueToken(userInfo);
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            for (int i = 0; i < REQUESTS; i++) {
+                mockMvc.perform(get("/api/lectures/{id}", lectureId)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                        .andExpect(status().isOk());
+            }
+            return (double) statistics.getPrepareStatementCount() / REQUESTS;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.exception.InvalidJwtException;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+    private final JwtService jwtService = new JwtService();
+
+    @Test
+    void claimsAreMappedToUserInfo() {
+        Claims claims = Jwts.claims()
+                .subject("user-id")
+                .add(JwtService.CLAIM_UID, 7)
+                .add(JwtService.CLAIM_EMAIL, "user@aa.com")
+                .add(JwtService.CLAIM_ROLES, "ROLE_USER")
+                .build();
+
+        UserInfo userInfo = jwtService.extractUserInfo(claims);
+
+        assertThat(userInfo.getId()).isEqualTo(7);
+        assertThat(userInfo.getUserId()).isEqualTo("user-id");
+        assertThat(userInfo.getEmail()).isEqualTo("user@aa.com");
+        assertThat(userInfo.getRoles()).isEqualTo("ROLE_USER");
+    }
+
+    @Test
+    void missingRolesFallsBackToDatabase() {
+        Claims claims = Jwts.claims().subject("user-id").build();
+
+        assertThat(jwtService.extractUserInfo(claims)).isNull();
+    }
+
+    @Test
+    void missingUidIsInvalidToken() {
+        Claims claims = Jwts.claims()
+                .subject("user-id")
+                .add(JwtService.CLAIM_ROLES, "ROLE_USER")
+                .build();
+
+        assertThatThrownBy(() -> jwtService.extractUserInfo(claims))
+                .isInstanceOf(InvalidJwtException.class)
+                .hasMessageContaining("uid");
+    }
+}
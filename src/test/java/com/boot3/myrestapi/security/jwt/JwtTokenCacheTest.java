@@ -0,0 +1,127 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.jwt.JwtTokenCache.VerifiedToken;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenCacheTest {
+    //테스트마다 계산 (class 로딩 시점에 계산하면 전체 테스트 실행 중에 만료될 수 있음)
+    private final long future = System.currentTimeMillis() + 60_000;
+
+    @Test
+    void hitAndMiss() {
+        JwtTokenCache cache = new JwtTokenCache(10, new SimpleMeterRegistry());
+        VerifiedToken token = token(1, future);
+        cache.put("a", token);
+
+        assertThat(cache.get("a")).isSameAs(token);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokenIsRemovedOnGet() {
+        JwtTokenCache cache = new JwtTokenCache(10, new SimpleMeterRegistry());
+        cache.put("expired", token(1, System.currentTimeMillis() - 1));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsed() {
+        JwtTokenCache cache = new JwtTokenCache(2, new SimpleMeterRegistry());
+        cache.put("a", token(1, future));
+        cache.put("b", token(2, future));
+        //a 를 사용했으므로 가장 오래 사용하지 않은 토큰은 b
+        cache.get("a");
+
+        cache.put("c", token(3, future));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateUserRemovesOnlyThatUsersTokens() {
+        JwtTokenCache cache = new JwtTokenCache(10, new SimpleMeterRegistry());
+        cache.put("a1", token(1, future));
+        cache.put("a2", token(1, future));
+        cache.put("b", token(2, future));
+
+        cache.invalidateUser(1);
+
+        assertThat(cache.get("a1")).isNull();
+        assertThat(cache.get("a2")).isNull();
+        assertThat(cache.get("b")).isNotNull();
+    }
+
+    @Test
+    void replacedTokenIsIndexedByNewUser() {
+        JwtTokenCache cache = new JwtTokenCache(10, new SimpleMeterRegistry());
+        cache.put("a", token(1, future));
+        cache.put("a", token(2, future));
+
+        cache.invalidateUser(1);
+        assertThat(cache.get("a")).isNotNull();
+
+        cache.invalidateUser(2);
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void concurrentAccessStaysBoundedAndIndexed() throws Exception {
+        JwtTokenCache cache = new JwtTokenCache(100, new SimpleMeterRegistry());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        String key = "k" + ((thread * 31 + i) % 500);
+                        if (cache.get(key) == null) {
+                            cache.put(key, token(i % 10, future));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+
+        //모든 토큰이 사용자별 key 목록에 남아 있어야 invalidateUser 로 제거됨
+        for (int userInfoId = 0; userInfoId < 10; userInfoId++) {
+            cache.invalidateUser(userInfoId);
+        }
+        assertThat(cache.size()).isZero();
+    }
+
+    private static VerifiedToken token(int userInfoId, long expiresAtMillis) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(userInfoId);
+        userInfo.setEmail(userInfoId + "@cache.com");
+        userInfo.setRoles("ROLE_USER");
+        return new VerifiedToken(new UserInfoUserDetails(userInfo), "jti-" + userInfoId, expiresAtMillis);
+    }
+}
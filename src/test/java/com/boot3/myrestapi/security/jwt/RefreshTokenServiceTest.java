@@ -0,0 +1,154 @@
+package com.boot3.myrestapi.security.jwt;
+
+import com.boot3.myrestapi.security.userinfo.RefreshTokenRequest;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    refresh token rotation, 재사용 감지(같은 사용자의 refresh token 전체 폐기), logout 폐기 검증
+    테스트마다 새 사용자로 발급
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+    @Autowired
+    RefreshTokenService refreshTokenService;
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    TokenRevocationIndex revocationIndex;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private UserInfo user;
+
+    @BeforeEach
+    void setUp() {
+        String key = UUID.randomUUID().toString();
+        UserInfo userInfo = new UserInfo();
+        userInfo.setName("refresh");
+        userInfo.setEmail(key + "@refresh.com");
+        userInfo.setPassword("{noop}pwd");
+        userInfo.setRoles("ROLE_ADMIN,ROLE_USER");
+        userInfo.setUserId(key);
+        user = userInfoRepository.save(userInfo);
+    }
+
+    @Test
+    void rotatingOnceIssuesNewTokens() {
+        String refreshToken = refreshTokenService.issue(user);
+
+        TokenResponse response = refreshTokenService.rotate(refreshToken);
+
+        assertThat(response.getRefreshToken()).isNotEqualTo(refreshToken);
+        assertThat(jwtService.validateAndGetClaims(response.getAccessToken()).getSubject())
+                .isEqualTo(user.getUserId());
+        //이전 토큰은 폐기되고 새 토큰만 사용 가능
+        assertThat(tokensOf(user)).extracting(RefreshToken::isRevoked).containsExactlyInAnyOrder(true, false);
+    }
+
+    @Test
+    void replayingRotatedTokenRevokesWholeFamily() {
+        String refreshToken = refreshTokenService.issue(user);
+        String otherSession = refreshTokenService.issue(user);
+        String rotated = refreshTokenService.rotate(refreshToken).getRefreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(refreshToken))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("already used");
+
+        //재사용이 감지되면 rotation 으로 받은 토큰과 다른 세션의 토큰도 폐기됨
+        assertThat(tokensOf(user)).allMatch(RefreshToken::isRevoked);
+        assertThatThrownBy(() -> refreshTokenService.rotate(rotated)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(otherSession)).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void revokeIfActiveSucceedsOnlyOnce() {
+        refreshTokenService.issue(user);
+        Long id = tokensOf(user).get(0).getId();
+
+        Integer first = transactionTemplate.execute(status -> refreshTokenRepository.revokeIfActive(id));
+        Integer second = transactionTemplate.execute(status -> refreshTokenRepository.revokeIfActive(id));
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+    }
+
+    @Test
+    void logoutRevokesRefreshAndAccessToken() throws Exception {
+        String accessToken = jwtService.issueToken(user);
+        String refreshToken = refreshTokenService.issue(user);
+        mockMvc.perform(get("/api/lectures").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/users/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(refreshRequest(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(refreshToken))
+                .isInstanceOf(BadCredentialsException.class);
+        //캐시에 검증된 토큰이 있어도 폐기 목록을 확인
+        mockMvc.perform(get("/api/lectures").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revokedJtiIsRejectedByFilter() throws Exception {
+        String accessToken = jwtService.issueToken(user);
+        String otherToken = jwtService.issueToken(user);
+        var claims = jwtService.validateAndGetClaims(accessToken);
+
+        revocationIndex.revoke(claims.getId(), claims.getExpiration().getTime());
+
+        mockMvc.perform(get("/api/lectures").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        //같은 사용자의 다른 토큰(jti)은 영향 없음
+        mockMvc.perform(get("/api/lectures").header(HttpHeaders.AUTHORIZATION, "Bearer " + otherToken))
+                .andExpect(status().isOk());
+    }
+
+    private List<RefreshToken> tokensOf(UserInfo userInfo) {
+        return refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUserInfo().getId() == userInfo.getId())
+                .toList();
+    }
+
+    private static RefreshTokenRequest refreshRequest(String refreshToken) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return request;
+    }
+}
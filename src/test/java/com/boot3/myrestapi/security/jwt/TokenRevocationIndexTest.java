@@ -0,0 +1,44 @@
+package com.boot3.myrestapi.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationIndexTest {
+    //테스트마다 계산 (class 로딩 시점에 계산하면 전체 테스트 실행 중에 만료될 수 있음)
+    private final long future = System.currentTimeMillis() + 60_000;
+
+    @Test
+    void revokedJtiIsFound() {
+        TokenRevocationIndex index = new TokenRevocationIndex();
+        index.revoke("jti-1", future);
+
+        assertThat(index.isRevoked("jti-1")).isTrue();
+        assertThat(index.isRevoked("jti-2")).isFalse();
+        assertThat(index.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void bloomFalsePositiveFallsThroughToMap() {
+        //"Aa" 와 "BB" 는 hashCode 가 같으므로 bloom filter 의 bit 가 모두 같음 => Map 에서 확인
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        TokenRevocationIndex index = new TokenRevocationIndex();
+        index.revoke("Aa", future);
+
+        assertThat(index.isRevoked("Aa")).isTrue();
+        assertThat(index.isRevoked("BB")).isFalse();
+    }
+
+    @Test
+    void pruneRemovesExpiredJti() {
+        TokenRevocationIndex index = new TokenRevocationIndex();
+        index.revoke("expired", System.currentTimeMillis() - 1);
+        index.revoke("active", future);
+
+        index.prune();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.isRevoked("expired")).isFalse();
+        assertThat(index.isRevoked("active")).isTrue();
+    }
+}
@@ -0,0 +1,103 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import com.boot3.myrestapi.security.jwt.JwtService;
+import com.boot3.myrestapi.security.userinfo.UserInfo;
+import com.boot3.myrestapi.security.userinfo.UserInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    /api/lectures/** 의 userId 별 한도 : ROLE_USER 는 3건, ROLE_ADMIN 은 role 별 설정으로 6건
+    refill 을 아주 느리게 설정해서 테스트 중에는 bucket 이 다시 채워지지 않음
+ */
+@SpringBootTest(properties = {
+        "ratelimit.enabled=true",
+        "ratelimit.rules.lectures.capacity=3",
+        "ratelimit.rules.lectures.refill-per-second=0.01",
+        "ratelimit.rules.lectures.roles[ROLE_ADMIN].capacity=6",
+        "ratelimit.rules.lectures.roles[ROLE_ADMIN].refill-per-second=0.02"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+    private static final String URI = "/api/lectures/search?mine=true";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JwtService jwtService;
+    @Autowired
+    UserInfoRepository userInfoRepository;
+
+    @Test
+    void exceedingLimitReturns429WithRetryAfter() throws Exception {
+        String bearerToken = bearerTokenOf(createUser("ROLE_USER"));
+        for (int i = 0; i < 3; i++) {
+            assertThat(statusOf(bearerToken)).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        MvcResult result = mockMvc.perform(get(URI).header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.statusCode").value(429))
+                .andReturn();
+        //refill 0.01/초 => 다음 요청까지 약 100초
+        long retryAfter = Long.parseLong(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        assertThat(retryAfter).isBetween(1L, 100L);
+    }
+
+    @Test
+    void roleOverrideRaisesLimit() throws Exception {
+        String bearerToken = bearerTokenOf(createUser("ROLE_ADMIN,ROLE_USER"));
+        for (int i = 0; i < 6; i++) {
+            assertThat(statusOf(bearerToken)).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+        assertThat(statusOf(bearerToken)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void bucketsAreKeptPerUser() throws Exception {
+        String first = bearerTokenOf(createUser("ROLE_USER"));
+        String second = bearerTokenOf(createUser("ROLE_USER"));
+        for (int i = 0; i < 3; i++) {
+            statusOf(first);
+        }
+        assertThat(statusOf(first)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        assertThat(statusOf(second)).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private int statusOf(String bearerToken) throws Exception {
+        return mockMvc.perform(get(URI).header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private String bearerTokenOf(UserInfo userInfo) {
+        return "Bearer " + jwtService.issueToken(userInfo);
+    }
+
+    private UserInfo createUser(String roles) {
+        String key = UUID.randomUUID().toString();
+        UserInfo userInfo = new UserInfo();
+        userInfo.setName("ratelimit");
+        userInfo.setEmail(key + "@ratelimit.com");
+        userInfo.setPassword("{noop}pwd");
+        userInfo.setRoles(roles);
+        userInfo.setUserId(key);
+        return userInfoRepository.save(userInfo);
+    }
+}
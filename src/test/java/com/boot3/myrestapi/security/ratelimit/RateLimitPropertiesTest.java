@@ -0,0 +1,53 @@
+package com.boot3.myrestapi.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPropertiesTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfig.class)
+            .withPropertyValues("ratelimit.rules.login.pattern=/users/login");
+
+    @Test
+    void validLimitsAreBound() {
+        contextRunner.withPropertyValues(
+                        "ratelimit.rules.login.capacity=5",
+                        "ratelimit.rules.login.refill-per-second=0.5",
+                        "ratelimit.rules.login.roles[ROLE_ADMIN].capacity=50")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    RateLimitProperties.Rule rule = context.getBean(RateLimitProperties.class).getRules().get("login");
+                    assertThat(rule.getCapacity()).isEqualTo(5);
+                    assertThat(rule.getRefillPerSecond()).isEqualTo(0.5);
+                    assertThat(rule.getRoles().get("ROLE_ADMIN").getCapacity()).isEqualTo(50);
+                });
+    }
+
+    @Test
+    void zeroRefillIsRejected() {
+        contextRunner.withPropertyValues("ratelimit.rules.login.refill-per-second=0")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .isInstanceOf(BindValidationException.class)
+                        .hasMessageContaining("refillPerSecond"));
+    }
+
+    @Test
+    void negativeRoleCapacityIsRejected() {
+        contextRunner.withPropertyValues("ratelimit.rules.login.roles[ROLE_ADMIN].capacity=-1")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .isInstanceOf(BindValidationException.class)
+                        .hasMessageContaining("capacity"));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
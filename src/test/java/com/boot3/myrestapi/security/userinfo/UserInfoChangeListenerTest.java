@@ -0,0 +1,82 @@
+package com.boot3.myrestapi.security.userinfo;
+
+import com.boot3.myrestapi.security.jwt.JwtTokenCache;
+import com.boot3.myrestapi.security.jwt.JwtTokenCache.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    UserInfo 를 수정하면 캐시된 인증 정보가 제거되는지 검증
+    commit 전에 다른 thread 가 이전 값을 다시 캐시해도 commit 후에 다시 제거됨
+ */
+@SpringBootTest(properties = "ratelimit.enabled=false")
+@ActiveProfiles("test")
+class UserInfoChangeListenerTest {
+    @Autowired
+    UserInfoRepository userInfoRepository;
+    @Autowired
+    UserInfoUserDetailsService userDetailsService;
+    @Autowired
+    JwtTokenCache tokenCache;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        String key = UUID.randomUUID().toString();
+        email = key + "@listener.com";
+        UserInfo userInfo = new UserInfo();
+        userInfo.setName("before");
+        userInfo.setEmail(email);
+        userInfo.setPassword("{noop}pwd");
+        userInfo.setRoles("ROLE_USER");
+        userInfo.setUserId(key);
+        userInfoRepository.save(userInfo);
+    }
+
+    @Test
+    void staleValueCachedBeforeCommitIsRemovedAfterCommit() {
+        assertThat(nameOf(userDetailsService.loadUserByUsername(email))).isEqualTo("before");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            UserInfo userInfo = userInfoRepository.findByEmail(email).orElseThrow();
+            userInfo.setName("after");
+            userInfoRepository.saveAndFlush(userInfo);
+            //commit 전에 다른 thread 가 조회하면 이전 값이 다시 캐시됨
+            UserInfoUserDetails reloaded = CompletableFuture
+                    .supplyAsync(() -> (UserInfoUserDetails) userDetailsService.loadUserByUsername(email))
+                    .orTimeout(5, TimeUnit.SECONDS).join();
+            assertThat(nameOf(reloaded)).isEqualTo("before");
+        });
+
+        assertThat(nameOf(userDetailsService.loadUserByUsername(email))).isEqualTo("after");
+    }
+
+    @Test
+    void changeInvalidatesCachedTokens() {
+        UserInfo userInfo = userInfoRepository.findByEmail(email).orElseThrow();
+        tokenCache.put("listener-" + email, new VerifiedToken(new UserInfoUserDetails(userInfo), "jti",
+                System.currentTimeMillis() + 60_000));
+
+        userInfo.setName("after");
+        userInfoRepository.save(userInfo);
+
+        assertThat(tokenCache.get("listener-" + email)).isNull();
+    }
+
+    private static String nameOf(Object userDetails) {
+        return ((UserInfoUserDetails) userDetails).getUserInfo().getName();
+    }
+}
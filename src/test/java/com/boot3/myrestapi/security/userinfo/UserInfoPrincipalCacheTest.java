@@ -0,0 +1,105 @@
+package com.boot3.myrestapi.security.userinfo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserInfoPrincipalCacheTest {
+    private static final int THREADS = 16;
+
+    @Test
+    void concurrentLoadsOfSameEmailAreCoalesced() throws Exception {
+        UserInfoPrincipalCache cache = new UserInfoPrincipalCache(100, 300);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<UserInfoUserDetails>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> cache.get("a@cache.com", email -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    //나머지 thread 가 같은 email 을 요청할 때까지 조회를 끝내지 않음
+                    await(release);
+                    return details(1, email);
+                })));
+            }
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            release.countDown();
+
+            UserInfoUserDetails first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<UserInfoUserDetails> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateRemovesEntryCachedUnderPreviousEmail() {
+        UserInfoPrincipalCache cache = new UserInfoPrincipalCache(100, 300);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("old@cache.com", email -> {
+            loads.incrementAndGet();
+            return details(1, email);
+        });
+
+        UserInfo changed = new UserInfo();
+        changed.setId(1);
+        changed.setEmail("new@cache.com");
+        cache.invalidate(changed);
+
+        cache.get("old@cache.com", email -> {
+            loads.incrementAndGet();
+            return details(1, email);
+        });
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsedEmail() {
+        UserInfoPrincipalCache cache = new UserInfoPrincipalCache(2, 300);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserInfoUserDetails> loader = email -> details(loads.incrementAndGet(), email);
+        cache.get("a@cache.com", loader);
+        cache.get("b@cache.com", loader);
+        cache.get("a@cache.com", loader);
+
+        cache.get("c@cache.com", loader);
+        cache.get("a@cache.com", loader);
+        assertThat(loads).hasValue(3);
+
+        cache.get("b@cache.com", loader);
+        assertThat(loads).hasValue(4);
+    }
+
+    private static UserInfoUserDetails details(int id, String email) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setId(id);
+        userInfo.setEmail(email);
+        userInfo.setRoles("ROLE_USER");
+        return new UserInfoUserDetails(userInfo);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}